@@ -11,18 +11,25 @@ import com.mojang.logging.LogUtils;
 import carbonconfiglib.api.ConfigType;
 import carbonconfiglib.config.Config;
 import carbonconfiglib.config.ConfigEntry.BoolValue;
+import carbonconfiglib.config.ConfigEntry.IntValue;
 import carbonconfiglib.config.ConfigHandler;
+import carbonconfiglib.config.ConfigSection;
 import carbonconfiglib.config.ConfigSettings;
 import carbonconfiglib.config.FileSystemWatcher;
 import carbonconfiglib.impl.PerWorldProxy;
+import carbonconfiglib.impl.PlayerValueStore;
 import carbonconfiglib.impl.ReloadMode;
 import carbonconfiglib.impl.entries.ColorValue;
 import carbonconfiglib.impl.entries.RegistryKeyValue;
 import carbonconfiglib.impl.entries.RegistryValue;
+import carbonconfiglib.impl.internal.ConfigLoader;
 import carbonconfiglib.impl.internal.ConfigLogger;
+import carbonconfiglib.impl.internal.ConfigSaver;
 import carbonconfiglib.impl.internal.EventHandler;
+import carbonconfiglib.impl.internal.SyncScheduler;
 import carbonconfiglib.networking.CarbonNetwork;
 import carbonconfiglib.utils.AutomationType;
+import carbonconfiglib.utils.SyncType;
 import net.minecraft.client.KeyMapping;
 import net.minecraft.client.Minecraft;
 import net.minecraftforge.api.distmarker.Dist;
@@ -68,6 +75,12 @@ public class CarbonConfig
 	public static BooleanSupplier MOD_GUI = () -> false;
 	ConfigHandler handler;
 	public static BoolValue FORGE_SUPPORT; 
+	public static IntValue COMPRESSION_THRESHOLD;
+	public static IntValue COMPRESSION_LEVEL;
+	public static IntValue SYNC_INTERVAL;
+	public static IntValue APPLY_BUDGET;
+	public static IntValue RELOAD_DELAY;
+	public static IntValue SAVE_DELAY;
 	
 	public CarbonConfig()
 	{
@@ -76,15 +89,23 @@ public class CarbonConfig
 		MinecraftForge.EVENT_BUS.addListener(this::load);
 		MinecraftForge.EVENT_BUS.addListener(this::unload);
 		MinecraftForge.EVENT_BUS.register(EventHandler.INSTANCE);
+		Config config = new Config("carbonconfig");
 		if(FMLEnvironment.dist.isClient()) {
 			FMLJavaModLoadingContext.get().getModEventBus().addListener(this::onClientLoad);
 			FMLJavaModLoadingContext.get().getModEventBus().addListener(this::registerKeys);
 			MinecraftForge.EVENT_BUS.addListener(this::onKeyPressed);
-			Config config = new Config("carbonconfig");
 			FORGE_SUPPORT = config.add("general").addBool("enable-forge-support", true, "Enables that CarbonConfig automatically adds Forge Configs into its own Config Gui System").setRequiredReload(ReloadMode.GAME);
-			handler = CONFIGS.createConfig(config, ConfigSettings.withConfigType(ConfigType.CLIENT).withAutomations(AutomationType.AUTO_LOAD));
-			handler.register();
 		}
+		ConfigSection networking = config.add("networking");
+		SYNC_INTERVAL = networking.addInt("sync-interval", 1, "How many ticks config changes are collected before they are sent as one packet").setMin(1);
+		APPLY_BUDGET = networking.addInt("apply-budget", 5000, "How many microseconds per tick can be spent applying received config values", "At least one value is applied per tick").setMin(0);
+		COMPRESSION_THRESHOLD = networking.addInt("compression-threshold", 1024, "Bulk Sync Packets larger then this amount of bytes get compressed before being sent", "-1 disables compression").setMin(-1);
+		COMPRESSION_LEVEL = networking.addInt("compression-level", 6, "Deflater Compression Level used for Bulk Sync Packets", "0 = fastest, 9 = smallest").setRange(0, 9);
+		ConfigSection files = config.add("file-watcher");
+		RELOAD_DELAY = files.addInt("reload-delay", 500, "How many milliseconds a changed config file has to stay untouched before it gets reloaded", "Files whose content didn't change are not reloaded at all", "0 reloads right away").setMin(0);
+		SAVE_DELAY = files.addInt("save-delay", 250, "How many milliseconds saves of the same config are collected before the file gets written", "Writes happen in the background").setMin(0);
+		handler = CONFIGS.createConfig(config, ConfigSettings.withConfigType(ConfigType.SHARED).withAutomations(AutomationType.AUTO_LOAD));
+		handler.register();
 	}
 	
 	/**
@@ -144,6 +165,10 @@ public class CarbonConfig
 		return RegistryValue.builder(key, clz);
 	}
 	
+	public static boolean areRegistriesLoaded() {
+		return REGISTRIES_LOADED;
+	}
+	
 	public static void runAfterRegistries(Runnable run) {
 		if(REGISTRIES_LOADED) {
 			run.run();
@@ -156,11 +181,7 @@ public class CarbonConfig
 		REGISTRIES_LOADED = true;
 		LATE_INIT.forEach(Runnable::run);
 		LATE_INIT.clear();
-		for(ConfigHandler handler : CONFIGS.getAllConfigs()) {
-			if(PerWorldProxy.isProxy(handler.getProxy())) {
-				handler.createDefaultConfig();
-			}
-		}
+		ConfigLoader.load("Default Configs", getPerWorldConfigs(), ConfigHandler::createDefaultConfig);
 	}
 	
 	@OnlyIn(Dist.CLIENT)
@@ -184,14 +205,23 @@ public class CarbonConfig
 	}
 	
 	public void load(ServerAboutToStartEvent event) {
+		ConfigLoader.load("World Configs", getPerWorldConfigs(), ConfigHandler::load);
+	}
+	
+	private static List<ConfigHandler> getPerWorldConfigs() {
+		List<ConfigHandler> result = new ObjectArrayList<>();
 		for(ConfigHandler handler : CONFIGS.getAllConfigs()) {
 			if(PerWorldProxy.isProxy(handler.getProxy())) {
-				handler.load();
+				result.add(handler);
 			}
 		}
+		return result;
 	}
 	
 	public void unload(ServerStoppingEvent event) {
+		ConfigSaver.INSTANCE.flush();
+		SyncScheduler.INSTANCE.clear(SyncType.SERVER_TO_CLIENT);
+		PlayerValueStore.INSTANCE.clear();
 		for(ConfigHandler handler : CONFIGS.getAllConfigs()) {
 			if(PerWorldProxy.isProxy(handler.getProxy())) {
 				handler.unload();
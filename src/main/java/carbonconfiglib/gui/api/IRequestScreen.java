@@ -22,4 +22,5 @@ import net.minecraft.network.FriendlyByteBuf;
 public interface IRequestScreen
 {
 	public void receiveConfigData(UUID requestId, FriendlyByteBuf buf);
+	public default void receiveProgress(UUID requestId, int received, int total) {}
 }
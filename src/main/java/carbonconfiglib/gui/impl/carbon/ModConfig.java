@@ -1,10 +1,9 @@
 package carbonconfiglib.gui.impl.carbon;
 
-import java.io.BufferedWriter;
-import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
@@ -16,10 +15,11 @@ import carbonconfiglib.config.Config;
 import carbonconfiglib.config.ConfigHandler;
 import carbonconfiglib.gui.api.IConfigNode;
 import carbonconfiglib.gui.api.IModConfig;
+import carbonconfiglib.impl.ConfigLines;
 import carbonconfiglib.impl.PerWorldProxy.WorldTarget;
+import carbonconfiglib.impl.internal.ConfigSaver;
 import carbonconfiglib.networking.carbon.ConfigRequestPacket;
 import carbonconfiglib.networking.carbon.SaveConfigPacket;
-import carbonconfiglib.utils.MultilinePolicy;
 import it.unimi.dsi.fastutil.objects.ObjectArrayList;
 import net.minecraft.network.FriendlyByteBuf;
 
@@ -61,7 +61,7 @@ public class ModConfig implements IModConfig
 		if(Files.notExists(path)) return null;
 		Config copy = config.copy();
 		try {
-			ConfigHandler.load(handler, copy, Files.readAllLines(path), false);
+			ConfigHandler.load(handler, copy, ConfigLines.of(path), false);
 			return new ModConfig(modId, handler, config, path);
 		}
 		catch(Exception e) {
@@ -133,19 +133,14 @@ public class ModConfig implements IModConfig
 	@Override
 	public void save() {
 		if(config == handler.getConfig()) {
-			handler.save();
+			ConfigSaver.INSTANCE.save(handler);
 			handler.onSynced();
 		}
-		else {
-			try (BufferedWriter writer = Files.newBufferedWriter(path)) {
-				writer.write(config.serialize(handler.getMultilinePolicy()));
-			} catch (IOException e) {
-				e.printStackTrace();
-			}
-		}
+		else ConfigSaver.INSTANCE.save(path, config.serialize(handler.getMultilinePolicy()));
 	}
 	
 	private static class NetworkModConfig extends ModConfig implements Predicate<FriendlyByteBuf> {
+		Map<String, byte[]> snapshot;
 		
 		public NetworkModConfig(String modId, ConfigHandler handler, Config config) {
 			super(modId, handler, config, null);
@@ -153,9 +148,9 @@ public class ModConfig implements IModConfig
 
 		@Override
 		public boolean test(FriendlyByteBuf t) {
-			List<String> lines = ObjectArrayList.wrap(t.readUtf(262144).split("\n"));
 			try {
-				ConfigHandler.load(handler, config, lines, false);
+				ConfigRequestPacket.readEntries(config, t);
+				snapshot = SaveConfigPacket.snapshot(config);
 				return true;
 			}
 			catch(Exception e) {
@@ -166,7 +161,9 @@ public class ModConfig implements IModConfig
 		
 		@Override
 		public void save() {
-			CarbonConfig.NETWORK.sendToServer(new SaveConfigPacket(handler.getConfigIdentifer(), config.serialize(MultilinePolicy.DISABLED)));
+			if(snapshot == null) return;
+			SaveConfigPacket packet = SaveConfigPacket.create(handler.getConfigIdentifer(), config, snapshot);
+			if(packet != null) CarbonConfig.NETWORK.sendToServer(packet);
 		}
 	}
 }
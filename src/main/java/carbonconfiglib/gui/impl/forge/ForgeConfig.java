@@ -1,6 +1,5 @@
 package carbonconfiglib.gui.impl.forge;
 
-import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -23,6 +22,7 @@ import carbonconfiglib.impl.PerWorldProxy;
 import carbonconfiglib.impl.PerWorldProxy.WorldTarget;
 import carbonconfiglib.networking.forge.RequestConfigPacket;
 import carbonconfiglib.networking.forge.SaveForgeConfigPacket;
+import io.netty.buffer.ByteBufInputStream;
 import it.unimi.dsi.fastutil.objects.ObjectArrayList;
 import it.unimi.dsi.fastutil.objects.ObjectLists;
 import net.minecraft.client.Minecraft;
@@ -211,7 +211,7 @@ public class ForgeConfig implements IModConfig
 		@Override
 		public boolean test(FriendlyByteBuf t) {
 			try {
-				this.data = TomlFormat.instance().createParser().parse(new ByteArrayInputStream(t.readByteArray()));
+				this.data = TomlFormat.instance().createParser().parse(new ByteBufInputStream(t));
 				return true;
 			}
 			catch(Exception e) {
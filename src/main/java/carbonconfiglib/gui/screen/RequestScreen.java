@@ -34,6 +34,8 @@ import net.minecraft.network.chat.Component;
 public class RequestScreen extends ListScreen implements IRequestScreen
 {
 	static final Component REQUEST = Component.translatable("gui.carbonconfig.requesting_config");
+	static final int REQUEST_TIMEOUT = 400;
+	static final int TRANSFER_TIMEOUT = 200;
 	static final Component[] ANIMATION = new Component[] {
 			Component.literal("Ooooo").withStyle(ChatFormatting.GRAY),
 			Component.literal("oOooo").withStyle(ChatFormatting.GRAY),
@@ -46,6 +48,9 @@ public class RequestScreen extends ListScreen implements IRequestScreen
 	UUID requestId;
 	Predicate<FriendlyByteBuf> result;
 	int tick = 0;
+	int lastProgress = 0;
+	int received = 0;
+	int total = -1;
 	
 	public RequestScreen(BackgroundTexture customTexture, Screen parent, IModConfig config) {
 		super(Component.literal("Request Screen"), customTexture);
@@ -68,11 +73,23 @@ public class RequestScreen extends ListScreen implements IRequestScreen
 		minecraft.setScreen(parent);
 	}
 	
+	@Override
+	public void receiveProgress(UUID requestId, int received, int total) {
+		if(!this.requestId.equals(requestId)) return;
+		this.received = received;
+		this.total = total;
+		lastProgress = tick;
+	}
+	
 	@Override
 	public void tick() {
 		super.tick();
 		tick++;
-		if(tick > 400) minecraft.setScreen(parent);
+		if(getRemainingTicks() <= 0) minecraft.setScreen(parent);
+	}
+	
+	private int getRemainingTicks() {
+		return (total < 0 ? REQUEST_TIMEOUT : TRANSFER_TIMEOUT) - (tick - lastProgress);
 	}
 	
 	@Override
@@ -82,10 +99,14 @@ public class RequestScreen extends ListScreen implements IRequestScreen
 		int index = (tick / 5) % 8;
 		if(index >= 5) index = 8-index;
 		font.draw(stack, ANIMATION[index], width / 2 - font.width(ANIMATION[index]) / 2, height / 2, -1);
-		int timeout = (401 - tick) / 20;
-		if(timeout <= 18) {
+		if(total > 0) {
+			Component progress = Component.translatable("gui.carbonconfig.progress", (received * 100L) / total, received / 1024, total / 1024).withStyle(ChatFormatting.GRAY);
+			font.draw(stack, progress, width / 2 - font.width(progress) / 2, height / 2 + 12, -1);
+		}
+		int timeout = (getRemainingTicks() + 1) / 20;
+		if(timeout <= (total < 0 ? 18 : 8)) {
 			Component draw = Component.translatable("gui.carbonconfig.timeout", timeout).withStyle(ChatFormatting.RED);
-			font.draw(stack, draw, width / 2 - font.width(draw) / 2, height / 2 + 12, -1);
+			font.draw(stack, draw, width / 2 - font.width(draw) / 2, height / 2 + (total > 0 ? 24 : 12), -1);
 		}
 	}
 	
@@ -0,0 +1,139 @@
+package carbonconfiglib.impl;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.BitSet;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+import carbonconfiglib.config.Config;
+import carbonconfiglib.config.ConfigHandler;
+import it.unimi.dsi.fastutil.ints.IntArrays;
+import it.unimi.dsi.fastutil.objects.AbstractObjectList;
+
+/**
+ * Copyright 2023 Speiger, Meduris
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+public class ConfigLines extends AbstractObjectList<String> implements RandomAccess
+{
+	static final String COMMENT = "#";
+	CharSequence text;
+	ByteBuffer bytes;
+	int[] starts = new int[64];
+	BitSet comments = new BitSet();
+	int size;
+	
+	public ConfigLines(CharSequence text) {
+		this.text = text;
+		index(text.length());
+	}
+	
+	/**
+	 * Indexes UTF-8 data directly, a line break byte can't be part of a multi byte character.
+	 */
+	public ConfigLines(ByteBuffer bytes) {
+		this.bytes = bytes.slice();
+		index(this.bytes.remaining());
+	}
+	
+	private void index(int length) {
+		int start = 0;
+		for(int i = 0;i<length;i++) {
+			if(at(i) != '\n') continue;
+			addLine(start);
+			start = i + 1;
+		}
+		if(start >= length) starts[size] = start;
+		else {
+			addLine(start);
+			starts[size] = length + 1;
+		}
+		findComments();
+	}
+	
+	/**
+	 * Comment lines are found ahead of time. Lines within a multiline array are elements, even if they start with a # like tags do.
+	 */
+	private void findComments() {
+		boolean array = false;
+		for(int i = 0;i<size;i++) {
+			int start = starts[i];
+			int end = starts[i+1] - 1;
+			int first = start;
+			while(first < end && Character.isWhitespace(at(first))) first++;
+			int last = end - 1;
+			while(last >= first && Character.isWhitespace(at(last))) last--;
+			if(first > last) continue;
+			if(array) {
+				if(at(first) == ']') array = false;
+				continue;
+			}
+			if(at(first) == '#') comments.set(i);
+			else if(at(last) == '[') array = true;
+		}
+	}
+	
+	private void addLine(int start) {
+		starts = IntArrays.grow(starts, size + 2);
+		starts[size++] = start;
+	}
+	
+	private int at(int index) {
+		return text != null ? text.charAt(index) : bytes.get(index);
+	}
+	
+	public static ConfigLines of(ByteBuffer buffer) {
+		return new ConfigLines(buffer);
+	}
+	
+	public static ConfigLines of(Path path) throws IOException {
+		return new ConfigLines(ByteBuffer.wrap(Files.readAllBytes(path)));
+	}
+	
+	public static void load(ConfigHandler handler, Config config, CharSequence text, boolean log) {
+		ConfigHandler.load(handler, config, new ConfigLines(text), log);
+	}
+	
+	public static void load(ConfigHandler handler, Config config, ByteBuffer buffer, boolean log) {
+		ConfigHandler.load(handler, config, of(buffer), log);
+	}
+	
+	/**
+	 * Lines are only copied out of the text when they are requested, so a parser that walks the list once never holds more then one line.
+	 * Comment lines are never copied, the parser only gets a shared "#" for them.
+	 */
+	@Override
+	public String get(int index) {
+		Objects.checkIndex(index, size);
+		int start = starts[index];
+		int end = starts[index+1] - 1;
+		if(end > start && at(end-1) == '\r') end--;
+		if(start >= end) return "";
+		if(comments.get(index)) return COMMENT;
+		if(text != null) return text.subSequence(start, end).toString();
+		if(bytes.hasArray()) return new String(bytes.array(), bytes.arrayOffset() + start, end - start, StandardCharsets.UTF_8);
+		byte[] line = new byte[end - start];
+		bytes.get(start, line);
+		return new String(line, StandardCharsets.UTF_8);
+	}
+	
+	@Override
+	public int size() {
+		return size;
+	}
+}
@@ -0,0 +1,258 @@
+package carbonconfiglib.impl;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.UUID;
+import java.util.function.ObjDoubleConsumer;
+import java.util.function.ObjIntConsumer;
+
+import carbonconfiglib.api.buffer.IReadBuffer;
+import carbonconfiglib.config.ConfigEntry;
+import carbonconfiglib.config.ConfigEntry.BoolValue;
+import carbonconfiglib.config.ConfigEntry.DoubleValue;
+import carbonconfiglib.config.ConfigEntry.IntValue;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectMap;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+
+/**
+ * Copyright 2023 Speiger, Meduris
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+public class PlayerValueStore
+{
+	public static final PlayerValueStore INSTANCE = new PlayerValueStore();
+	Object2IntMap<UUID> playerIds = new Object2IntOpenHashMap<>();
+	UUID[] players = new UUID[16];
+	IntArrayList freeIds = new IntArrayList();
+	int nextId = 0;
+	Reference2ObjectMap<ConfigEntry<?>, Column> columns = new Reference2ObjectOpenHashMap<>();
+	
+	private PlayerValueStore() {
+		playerIds.defaultReturnValue(-1);
+	}
+	
+	/**
+	 * Gets the column that stores the client values of the entry per online player.
+	 * Only tracked entries are stored, so this should be called once after the config was created.
+	 * The entry has to be the one that was added to the section, not the SyncedConfig that setClientSynced returns, since received values are looked up by the section entry.
+	 */
+	public IntColumn ints(IntValue entry) {
+		return track(entry, IntColumn.class);
+	}
+	
+	public DoubleColumn doubles(DoubleValue entry) {
+		return track(entry, DoubleColumn.class);
+	}
+	
+	public BoolColumn bools(BoolValue entry) {
+		return track(entry, BoolColumn.class);
+	}
+	
+	public int getPlayerIndex(UUID player) {
+		return playerIds.getInt(player);
+	}
+	
+	public UUID getPlayer(int index) {
+		return index >= 0 && index < nextId ? players[index] : null;
+	}
+	
+	public int getMaxIndex() {
+		return nextId;
+	}
+	
+	/**
+	 * Stores the value a client sent for the entry, if the entry is tracked.
+	 * The buffer has to contain the same data ConfigEntry.deserialize receives.
+	 */
+	public void record(ConfigEntry<?> entry, UUID owner, IReadBuffer buffer) {
+		Column column = columns.get(entry);
+		if(column == null || owner == null) return;
+		column.read(getOrCreateIndex(owner), buffer);
+	}
+	
+	public void remove(UUID player) {
+		int index = playerIds.removeInt(player);
+		if(index == -1) return;
+		players[index] = null;
+		for(Column column : columns.values()) {
+			column.present.clear(index);
+		}
+		freeIds.add(index);
+	}
+	
+	public void clear() {
+		playerIds.clear();
+		Arrays.fill(players, null);
+		freeIds.clear();
+		nextId = 0;
+		for(Column column : columns.values()) {
+			column.present.clear();
+		}
+	}
+	
+	private int getOrCreateIndex(UUID player) {
+		int index = playerIds.getInt(player);
+		if(index != -1) return index;
+		index = freeIds.isEmpty() ? nextId++ : freeIds.popInt();
+		if(index >= players.length) {
+			int size = Math.max(players.length * 2, index + 1);
+			players = Arrays.copyOf(players, size);
+			for(Column column : columns.values()) {
+				column.grow(size);
+			}
+		}
+		players[index] = player;
+		playerIds.put(player, index);
+		return index;
+	}
+	
+	private <T extends Column> T track(ConfigEntry<?> entry, Class<T> type) {
+		Column column = columns.get(entry);
+		if(column == null) {
+			if(entry instanceof IntValue) column = new IntColumn(this);
+			else if(entry instanceof DoubleValue) column = new DoubleColumn(this);
+			else if(entry instanceof BoolValue) column = new BoolColumn(this);
+			else throw new IllegalArgumentException("Entry ["+entry.getKey()+"] has no primitive column type");
+			column.grow(players.length);
+			columns.put(entry, column);
+		}
+		if(!type.isInstance(column)) throw new IllegalStateException("Entry ["+entry.getKey()+"] is tracked as "+column.getClass().getSimpleName());
+		return type.cast(column);
+	}
+	
+	public static abstract class Column {
+		PlayerValueStore owner;
+		BitSet present = new BitSet();
+		
+		public Column(PlayerValueStore owner) {
+			this.owner = owner;
+		}
+		
+		abstract void grow(int size);
+		abstract void read(int index, IReadBuffer buffer);
+		
+		public boolean has(int index) {
+			return index >= 0 && present.get(index);
+		}
+		
+		public boolean has(UUID player) {
+			return has(owner.getPlayerIndex(player));
+		}
+	}
+	
+	public static class IntColumn extends Column {
+		int[] values = new int[0];
+		
+		public IntColumn(PlayerValueStore owner) {
+			super(owner);
+		}
+		
+		@Override
+		void grow(int size) {
+			values = Arrays.copyOf(values, size);
+		}
+		
+		@Override
+		void read(int index, IReadBuffer buffer) {
+			values[index] = buffer.readInt();
+			present.set(index);
+		}
+		
+		public int get(int index, int defaultValue) {
+			return has(index) ? values[index] : defaultValue;
+		}
+		
+		public int get(UUID player, int defaultValue) {
+			return get(owner.getPlayerIndex(player), defaultValue);
+		}
+		
+		public void forEach(ObjIntConsumer<UUID> action) {
+			for(int i = present.nextSetBit(0);i >= 0;i = present.nextSetBit(i + 1)) {
+				action.accept(owner.players[i], values[i]);
+			}
+		}
+	}
+	
+	public static class DoubleColumn extends Column {
+		double[] values = new double[0];
+		
+		public DoubleColumn(PlayerValueStore owner) {
+			super(owner);
+		}
+		
+		@Override
+		void grow(int size) {
+			values = Arrays.copyOf(values, size);
+		}
+		
+		@Override
+		void read(int index, IReadBuffer buffer) {
+			values[index] = buffer.readDouble();
+			present.set(index);
+		}
+		
+		public double get(int index, double defaultValue) {
+			return has(index) ? values[index] : defaultValue;
+		}
+		
+		public double get(UUID player, double defaultValue) {
+			return get(owner.getPlayerIndex(player), defaultValue);
+		}
+		
+		public void forEach(ObjDoubleConsumer<UUID> action) {
+			for(int i = present.nextSetBit(0);i >= 0;i = present.nextSetBit(i + 1)) {
+				action.accept(owner.players[i], values[i]);
+			}
+		}
+	}
+	
+	public static class BoolColumn extends Column {
+		BitSet values = new BitSet();
+		
+		public BoolColumn(PlayerValueStore owner) {
+			super(owner);
+		}
+		
+		@Override
+		void grow(int size) {
+		}
+		
+		@Override
+		void read(int index, IReadBuffer buffer) {
+			values.set(index, buffer.readBoolean());
+			present.set(index);
+		}
+		
+		public boolean get(int index, boolean defaultValue) {
+			return has(index) ? values.get(index) : defaultValue;
+		}
+		
+		public boolean get(UUID player, boolean defaultValue) {
+			return get(owner.getPlayerIndex(player), defaultValue);
+		}
+		
+		public void forEach(ObjBoolConsumer action) {
+			for(int i = present.nextSetBit(0);i >= 0;i = present.nextSetBit(i + 1)) {
+				action.accept(owner.players[i], values.get(i));
+			}
+		}
+	}
+	
+	public static interface ObjBoolConsumer {
+		public void accept(UUID player, boolean value);
+	}
+}
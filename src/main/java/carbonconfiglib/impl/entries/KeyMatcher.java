@@ -0,0 +1,121 @@
+package carbonconfiglib.impl.entries;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import it.unimi.dsi.fastutil.objects.ObjectLists;
+import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
+import net.minecraft.resources.ResourceLocation;
+
+/**
+ * Copyright 2023 Speiger, Meduris
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+public class KeyMatcher
+{
+	public static final KeyMatcher EMPTY = new KeyMatcher(ObjectLists.emptyList());
+	Set<String> namespaces = new ObjectOpenHashSet<>();
+	Map<String, List<Glob>> byNamespace = new Object2ObjectOpenHashMap<>();
+	List<Glob> anyNamespace = new ObjectArrayList<>();
+	
+	/**
+	 * Compiles patterns like "mekanism:*" or "*:*_ore".
+	 * Whole namespaces end up in a hash set, everything else gets split into prefix/middle/suffix parts per namespace.
+	 */
+	public KeyMatcher(List<String> patterns) {
+		for(int i = 0,m=patterns.size();i<m;i++) {
+			String pattern = patterns.get(i);
+			int split = pattern.indexOf(':');
+			String namespace = split == -1 ? "minecraft" : pattern.substring(0, split);
+			String path = pattern.substring(split + 1);
+			if(namespace.equals("*")) {
+				anyNamespace.add(new Glob(path));
+			}
+			else if(path.equals("*")) {
+				namespaces.add(namespace);
+			}
+			else {
+				byNamespace.computeIfAbsent(namespace, T -> new ObjectArrayList<>()).add(new Glob(path));
+			}
+		}
+	}
+	
+	public static boolean isPattern(String value) {
+		return value.indexOf('*') != -1;
+	}
+	
+	/**
+	 * Validates the pattern syntax only, the registry doesn't have to be searched for it.
+	 */
+	public static boolean isValid(String value) {
+		int split = value.indexOf(':');
+		String namespace = split == -1 ? "minecraft" : value.substring(0, split);
+		String path = value.substring(split + 1);
+		if(path.isEmpty() || namespace.isEmpty()) return false;
+		if(!namespace.equals("*") && !ResourceLocation.isValidNamespace(namespace)) return false;
+		return ResourceLocation.isValidPath(path.replace("*", ""));
+	}
+	
+	public boolean isEmpty() {
+		return namespaces.isEmpty() && byNamespace.isEmpty() && anyNamespace.isEmpty();
+	}
+	
+	public boolean matches(ResourceLocation key) {
+		if(namespaces.contains(key.getNamespace())) return true;
+		String path = key.getPath();
+		List<Glob> globs = byNamespace.get(key.getNamespace());
+		if(globs != null) {
+			for(int i = 0,m=globs.size();i<m;i++) {
+				if(globs.get(i).matches(path)) return true;
+			}
+		}
+		for(int i = 0,m=anyNamespace.size();i<m;i++) {
+			if(anyNamespace.get(i).matches(path)) return true;
+		}
+		return false;
+	}
+	
+	static class Glob {
+		String prefix;
+		String[] middle;
+		String suffix;
+		int minLength;
+		
+		public Glob(String pattern) {
+			String[] parts = pattern.split("\\*", -1);
+			prefix = parts[0];
+			suffix = parts.length > 1 ? parts[parts.length - 1] : null;
+			middle = new String[Math.max(0, parts.length - 2)];
+			System.arraycopy(parts, 1, middle, 0, middle.length);
+			minLength = pattern.length() - (parts.length - 1);
+		}
+		
+		boolean matches(String path) {
+			if(suffix == null) return path.equals(prefix);
+			if(path.length() < minLength || !path.startsWith(prefix) || !path.endsWith(suffix)) return false;
+			int index = prefix.length();
+			int end = path.length() - suffix.length();
+			for(int i = 0;i<middle.length;i++) {
+				if(middle[i].isEmpty()) continue;
+				index = path.indexOf(middle[i], index);
+				if(index == -1 || index + middle[i].length() > end) return false;
+				index += middle[i].length();
+			}
+			return true;
+		}
+	}
+}
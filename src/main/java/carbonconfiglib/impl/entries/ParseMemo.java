@@ -0,0 +1,57 @@
+package carbonconfiglib.impl.entries;
+
+import java.util.function.Function;
+
+import it.unimi.dsi.fastutil.objects.Object2ObjectMap;
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+
+/**
+ * Copyright 2023 Speiger, Meduris
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+public class ParseMemo<T>
+{
+	Object2ObjectMap<String, T> previous = new Object2ObjectOpenHashMap<>();
+	Object2ObjectMap<String, T> current;
+	int generation = Integer.MIN_VALUE;
+	
+	/**
+	 * Starts a new parse. If the generation changed all remembered results are dropped.
+	 */
+	public void begin(int generation) {
+		if(this.generation != generation) {
+			this.generation = generation;
+			previous.clear();
+		}
+		current = new Object2ObjectOpenHashMap<>();
+	}
+	
+	/**
+	 * Parses the element or reuses the result of the last parse. Null results are remembered too.
+	 */
+	public T get(String text, Function<String, T> parser) {
+		if(current.containsKey(text)) return current.get(text);
+		T result = previous.containsKey(text) ? previous.get(text) : parser.apply(text);
+		current.put(text, result);
+		return result;
+	}
+	
+	/**
+	 * Only the elements of the finished parse are kept, so removed elements don't pile up.
+	 */
+	public void finish() {
+		previous = current;
+		current = null;
+	}
+}
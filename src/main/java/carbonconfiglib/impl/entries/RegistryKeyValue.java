@@ -1,5 +1,6 @@
 package carbonconfiglib.impl.entries;
 
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.List;
 import java.util.NoSuchElementException;
@@ -12,7 +13,9 @@ import carbonconfiglib.api.buffer.IReadBuffer;
 import carbonconfiglib.api.buffer.IWriteBuffer;
 import carbonconfiglib.config.ConfigEntry.CollectionConfigEntry;
 import carbonconfiglib.config.ConfigEntry.IArrayConfig;
+import carbonconfiglib.config.ConfigEntry.Suggestion;
 import carbonconfiglib.config.ConfigSection;
+import carbonconfiglib.networking.buffer.StringDictionary;
 import carbonconfiglib.utils.Helpers;
 import carbonconfiglib.utils.IEntryDataType;
 import carbonconfiglib.utils.IEntryDataType.SimpleDataType;
@@ -21,6 +24,7 @@ import carbonconfiglib.utils.ParseResult;
 import it.unimi.dsi.fastutil.objects.ObjectArrayList;
 import it.unimi.dsi.fastutil.objects.ObjectLinkedOpenHashSet;
 import it.unimi.dsi.fastutil.objects.ObjectSets;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraftforge.registries.ForgeRegistry;
 import net.minecraftforge.registries.IForgeRegistry;
@@ -45,24 +49,124 @@ public class RegistryKeyValue extends CollectionConfigEntry<ResourceLocation, Se
 	ForgeRegistry<?> registry;
 	Class<?> clz;
 	Predicate<ResourceLocation> filter;
+	List<Suggestion> suggestions;
+	ParseMemo<ResourceLocation> memo = new ParseMemo<>();
+	volatile KeyView keyView;
+	Set<?> syncedExtras;
 	
 	public RegistryKeyValue(String key, IForgeRegistry<?> registry, Class<?> clz, Set<ResourceLocation> defaultValue, Predicate<ResourceLocation> filter, String... comment) {
 		super(key, defaultValue, comment);
 		this.registry = (ForgeRegistry<?>)registry;
 		this.clz = clz;
 		this.filter = filter;
+		this.syncedExtras = TaggedSet.extrasOf(defaultValue);
 	}
 	
 	public static <E> Builder<E> builder(String key, Class<E> clz) {
 		return new Builder<>(key, clz);
 	}
 	
+	@Override
+	public List<Suggestion> getSuggestions() {
+		if(suggestions == null) {
+			if(!SharedSuggestions.canLoad()) return super.getSuggestions();
+			suggestions = SharedSuggestions.merge(super.getSuggestions(), SharedSuggestions.get(registry, filter, this::createSuggestions));
+		}
+		return suggestions;
+	}
+	
+	private List<Suggestion> createSuggestions() {
+		RegistryKeyValue entry = copy();
+		entry.loadSuggestions();
+		return entry.getOwnSuggestions();
+	}
+	
+	private List<Suggestion> getOwnSuggestions() {
+		return super.getSuggestions();
+	}
+	
 	private void loadSuggestions() {
 		for(ResourceLocation entry : registry.getKeys()) {
 			if(filter == null || filter.test(entry)) addSuggestion(entry.toString(), entry, clz);
 		}
 	}
 	
+	/**
+	 * Checks if the registry element with the id is part of the value.
+	 * Before the registries are loaded this always returns false.
+	 */
+	public boolean containsId(int id) {
+		KeyView view = getKeyView();
+		return view != null && id >= 0 && view.ids.get(id);
+	}
+	
+	/**
+	 * Checks the registry element without having to look up its key first.
+	 * Keys that don't exist in the registry can't match any element, tags only match elements that currently exist.
+	 */
+	public boolean contains(Object entry) {
+		if(entry instanceof ResourceLocation) {
+			ResourceLocation key = (ResourceLocation)entry;
+			Set<ResourceLocation> value = getValue();
+			if(value.contains(key)) return true;
+			if(TaggedSet.getMatcher(value).matches(key) && (filter == null || filter.test(key))) return true;
+			return !TaggedSet.getTags(value).isEmpty() && registry.containsKey(key) && containsId(registry.getID(key));
+		}
+		KeyView view = getKeyView();
+		return view != null && view.elements.contains(entry);
+	}
+	
+	private KeyView getKeyView() {
+		if(!CarbonConfig.areRegistriesLoaded()) return null;
+		Set<ResourceLocation> value = getValue();
+		int generation = RegistryValue.ID_GENERATION;
+		int tagGeneration = TaggedSet.TAG_GENERATION;
+		KeyView view = keyView;
+		if(view == null || view.source != value || view.generation != generation || view.tagGeneration != tagGeneration) {
+			view = createKeyView(value, generation, tagGeneration);
+			keyView = view;
+		}
+		return view;
+	}
+	
+	private KeyView createKeyView(Set<ResourceLocation> value, int generation, int tagGeneration) {
+		KeyView view = new KeyView(value, generation, tagGeneration);
+		for(ResourceLocation key : value) {
+			if(!registry.containsKey(key)) continue;
+			Object entry = registry.getValue(key);
+			int id = registry.getID(key);
+			if(id >= 0) view.ids.set(id);
+			view.elements.add(entry);
+		}
+		List<ResourceLocation> tags = TaggedSet.getTags(value);
+		if(!tags.isEmpty()) expandTags(registry, tags, view);
+		KeyMatcher matcher = TaggedSet.getMatcher(value);
+		if(!matcher.isEmpty()) {
+			for(ResourceLocation key : registry.getKeys()) {
+				if(!matcher.matches(key) || (filter != null && !filter.test(key))) continue;
+				int id = registry.getID(key);
+				if(id >= 0) view.ids.set(id);
+				view.elements.add(registry.getValue(key));
+			}
+		}
+		return view;
+	}
+	
+	private <E> void expandTags(ForgeRegistry<E> registry, List<ResourceLocation> tags, KeyView view) {
+		TaggedSet.expand(registry, tags, filter == null ? null : T -> filter.test(registry.getKey(T)), view.ids, view.elements);
+	}
+	
+	@Override
+	public boolean hasChanged() {
+		return super.hasChanged() || !TaggedSet.sameExtras(getValue(), syncedExtras);
+	}
+	
+	@Override
+	public void onSynced() {
+		super.onSynced();
+		syncedExtras = TaggedSet.extrasOf(getValue());
+	}
+	
 	@Override
 	protected RegistryKeyValue copy() {
 		return new RegistryKeyValue(getKey(), registry, clz, getDefault(), filter, getComment());
@@ -70,10 +174,18 @@ public class RegistryKeyValue extends CollectionConfigEntry<ResourceLocation, Se
 	
 	@Override
 	protected String serializedValue(MultilinePolicy policy, Set<ResourceLocation> value) {
-		String[] result = new String[value.size()];
+		List<ResourceLocation> tags = TaggedSet.getTags(value);
+		List<String> patterns = TaggedSet.getPatterns(value);
+		String[] result = new String[value.size() + tags.size() + patterns.size()];
 		int i = 0;
 		for(ResourceLocation entry : value) {
-			result[i] = entry.toString();
+			result[i++] = entry.toString();
+		}
+		for(ResourceLocation tag : tags) {
+			result[i++] = "#"+tag;
+		}
+		for(String pattern : patterns) {
+			result[i++] = pattern;
 		}
 		return serializeArray(policy, result);
 	}
@@ -81,15 +193,32 @@ public class RegistryKeyValue extends CollectionConfigEntry<ResourceLocation, Se
 	@Override
 	public ParseResult<Set<ResourceLocation>> parseValue(String value) {
 		String[] values = Helpers.splitArray(value, ",");
-		Set<ResourceLocation> result = new ObjectLinkedOpenHashSet<>();
-		for(int i = 0,m=values.length;i<m;i++) {
-			ResourceLocation location = ResourceLocation.tryParse(values[i]);
-			if(location == null || (filter != null && !filter.test(location))) continue;
-			result.add(location);
+		TaggedSet<ResourceLocation> result = new TaggedSet<>();
+		synchronized(memo) {
+			memo.begin(0);
+			for(int i = 0,m=values.length;i<m;i++) {
+				if(TaggedSet.isTag(values[i])) {
+					ResourceLocation tag = TaggedSet.parseTag(values[i]);
+					if(tag != null) result.addTag(tag);
+					continue;
+				}
+				if(KeyMatcher.isPattern(values[i])) {
+					if(KeyMatcher.isValid(values[i])) result.addPattern(values[i]);
+					continue;
+				}
+				ResourceLocation location = memo.get(values[i], this::parseElement);
+				if(location != null) result.add(location);
+			}
+			memo.finish();
 		}
 		return ParseResult.success(result);
 	}
 	
+	private ResourceLocation parseElement(String value) {
+		ResourceLocation location = ResourceLocation.tryParse(value);
+		return location == null || (filter != null && !filter.test(location)) ? null : location;
+	}
+	
 	@Override
 	public ParseResult<Boolean> canSet(Set<ResourceLocation> value) {
 		ParseResult<Boolean> result = super.canSet(value);
@@ -107,6 +236,10 @@ public class RegistryKeyValue extends CollectionConfigEntry<ResourceLocation, Se
 		for(ResourceLocation entry : getValue()) {
 			result.add(entry.toString());
 		}
+		for(ResourceLocation tag : TaggedSet.getTags(getValue())) {
+			result.add("#"+tag);
+		}
+		result.addAll(TaggedSet.getPatterns(getValue()));
 		return result;
 	}
 	
@@ -123,6 +256,14 @@ public class RegistryKeyValue extends CollectionConfigEntry<ResourceLocation, Se
 	public ParseResult<Boolean> canSetArray(List<String> entries) {
 		if(entries == null) return ParseResult.partial(false, NullPointerException::new, "Value isn't allowed to be null");
 		for(int i = 0,m=entries.size();i<m;i++) {
+			if(TaggedSet.isTag(entries.get(i))) {
+				if(TaggedSet.parseTag(entries.get(i)) == null) return ParseResult.partial(false, IllegalArgumentException::new, "Tag ["+entries.get(i)+"] isn't a valid tag");
+				continue;
+			}
+			if(KeyMatcher.isPattern(entries.get(i))) {
+				if(!KeyMatcher.isValid(entries.get(i))) return ParseResult.partial(false, IllegalArgumentException::new, "Pattern ["+entries.get(i)+"] isn't a valid pattern");
+				continue;
+			}
 			ResourceLocation result = ResourceLocation.tryParse(entries.get(i));
 			if(result == null || !registry.containsKey(result)) return ParseResult.partial(false, NoSuchElementException::new, "Value ["+entries.get(i)+"] doesn't exist in the registry");
 			if(filter != null && !filter.test(result)) return ParseResult.partial(false, IllegalArgumentException::new, "Value ["+entries.get(i)+"] isn't allowed");
@@ -158,21 +299,44 @@ public class RegistryKeyValue extends CollectionConfigEntry<ResourceLocation, Se
 	public void serialize(IWriteBuffer buffer) {
 		Set<ResourceLocation> value = getValue();
 		buffer.writeVarInt(value.size());
+		StringDictionary.Writer dictionary = new StringDictionary.Writer();
 		for(ResourceLocation entry : value) {
-			buffer.writeString(entry.toString());
+			dictionary.writeLocation(buffer, entry);
+		}
+		List<ResourceLocation> tags = TaggedSet.getTags(value);
+		buffer.writeVarInt(tags.size());
+		for(int i = 0,m=tags.size();i<m;i++) {
+			dictionary.writeLocation(buffer, tags.get(i));
+		}
+		List<String> patterns = TaggedSet.getPatterns(value);
+		buffer.writeVarInt(patterns.size());
+		for(int i = 0,m=patterns.size();i<m;i++) {
+			buffer.writeString(patterns.get(i));
 		}
 	}
 	
 	@Override
 	protected void deserializeValue(IReadBuffer buffer) {
-		Set<ResourceLocation> result = new ObjectLinkedOpenHashSet<>();
+		TaggedSet<ResourceLocation> result = new TaggedSet<>();
 		int size = buffer.readVarInt();
+		StringDictionary.Reader dictionary = new StringDictionary.Reader();
 		for(int i = 0;i<size;i++) {
-			ResourceLocation entry = ResourceLocation.tryParse(buffer.readString());
+			ResourceLocation entry = dictionary.readLocation(buffer);
 			if(entry != null) {
 				result.add(entry);
 			}
 		}
+		int tags = buffer.readVarInt();
+		for(int i = 0;i<tags;i++) {
+			ResourceLocation tag = dictionary.readLocation(buffer);
+			if(tag != null) result.addTag(tag);
+		}
+		int patterns = buffer.readVarInt();
+		for(int i = 0;i<patterns;i++) {
+			String pattern = buffer.readString();
+			if(KeyMatcher.isValid(pattern)) result.addPattern(pattern);
+		}
+		set(result);
 	}
 	
 	@Override
@@ -180,6 +344,20 @@ public class RegistryKeyValue extends CollectionConfigEntry<ResourceLocation, Se
 		return ObjectSets.singleton(value);
 	}
 	
+	static class KeyView {
+		Set<ResourceLocation> source;
+		int generation;
+		int tagGeneration;
+		BitSet ids = new BitSet();
+		Set<Object> elements = new ReferenceOpenHashSet<>();
+		
+		public KeyView(Set<ResourceLocation> source, int generation, int tagGeneration) {
+			this.source = source;
+			this.generation = generation;
+			this.tagGeneration = tagGeneration;
+		}
+	}
+	
 	public static class Builder<E> {
 		Class<E> clz;
 		String key;
@@ -234,15 +412,12 @@ public class RegistryKeyValue extends CollectionConfigEntry<ResourceLocation, Se
 		
 		public RegistryKeyValue build(IForgeRegistry<E> registry) {
 			parseValues(registry);
-			RegistryKeyValue result = new RegistryKeyValue(key, registry, clz, values, filter, comments);
-			CarbonConfig.runAfterRegistries(result::loadSuggestions);
-			return result;
+			return new RegistryKeyValue(key, registry, clz, values, filter, comments);
 		}
 		
 		public RegistryKeyValue build(IForgeRegistry<E> registry, ConfigSection section) {
 			parseValues(registry);
 			RegistryKeyValue result = new RegistryKeyValue(key, registry, clz, values, filter, comments);
-			CarbonConfig.runAfterRegistries(result::loadSuggestions);
 			section.add(result);
 			return result;
 		}
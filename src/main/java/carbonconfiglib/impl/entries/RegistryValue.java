@@ -1,7 +1,9 @@
 package carbonconfiglib.impl.entries;
 
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.StringJoiner;
@@ -12,7 +14,10 @@ import carbonconfiglib.api.buffer.IReadBuffer;
 import carbonconfiglib.api.buffer.IWriteBuffer;
 import carbonconfiglib.config.ConfigEntry.CollectionConfigEntry;
 import carbonconfiglib.config.ConfigEntry.IArrayConfig;
+import carbonconfiglib.config.ConfigEntry.Suggestion;
 import carbonconfiglib.config.ConfigSection;
+import carbonconfiglib.networking.buffer.IBulkReadBuffer;
+import carbonconfiglib.networking.buffer.IBulkWriteBuffer;
 import carbonconfiglib.utils.Helpers;
 import carbonconfiglib.utils.IEntryDataType;
 import carbonconfiglib.utils.IEntryDataType.SimpleDataType;
@@ -21,6 +26,9 @@ import carbonconfiglib.utils.ParseResult;
 import it.unimi.dsi.fastutil.objects.ObjectArrayList;
 import it.unimi.dsi.fastutil.objects.ObjectLinkedOpenHashSet;
 import it.unimi.dsi.fastutil.objects.ObjectSets;
+import it.unimi.dsi.fastutil.objects.Reference2IntMap;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraftforge.registries.ForgeRegistry;
 import net.minecraftforge.registries.IForgeRegistry;
@@ -42,27 +50,139 @@ import net.minecraftforge.registries.IForgeRegistry;
  */
 public class RegistryValue<T> extends CollectionConfigEntry<T, Set<T>> implements IArrayConfig
 {
+	static volatile int ID_GENERATION = 0;
+	static final Map<ForgeRegistry<?>, IdCache> ID_CACHES = new Reference2ObjectOpenHashMap<>();
 	ForgeRegistry<T> registry;
 	Class<T> clz;
 	Predicate<T> filter;
+	List<Suggestion> suggestions;
+	ParseMemo<T> memo = new ParseMemo<>();
+	volatile IdView idView;
+	volatile IdCache idCache;
+	Set<?> syncedExtras;
 	
 	protected RegistryValue(String key, IForgeRegistry<T> registry, Class<T> clz, Set<T> defaultValue, Predicate<T> filter, String... comment) {
 		super(key, defaultValue, comment);
 		this.registry = (ForgeRegistry<T>)registry;
 		this.clz = clz;
 		this.filter = filter;
+		this.syncedExtras = TaggedSet.extrasOf(defaultValue);
 	}
 	
 	public static <E> Builder<E> builder(String key, Class<E> clz) {
 		return new Builder<>(key, clz);
 	}
 	
+	@Override
+	public List<Suggestion> getSuggestions() {
+		if(suggestions == null) {
+			if(!SharedSuggestions.canLoad()) return super.getSuggestions();
+			suggestions = SharedSuggestions.merge(super.getSuggestions(), SharedSuggestions.get(registry, filter, this::createSuggestions));
+		}
+		return suggestions;
+	}
+	
+	private List<Suggestion> createSuggestions() {
+		RegistryValue<T> entry = copy();
+		entry.loadSuggestions();
+		return entry.getOwnSuggestions();
+	}
+	
+	private List<Suggestion> getOwnSuggestions() {
+		return super.getSuggestions();
+	}
+	
 	private void loadSuggestions() {
 		for(T entry : registry) {
 			if(filter == null || filter.test(entry)) addSuggestion(registry.getKey(entry).toString(), entry, clz);
 		}
 	}
 	
+	/**
+	 * Registry ids change when the client receives the ids of the server, so all id views have to be rebuilt.
+	 */
+	public static void onIdsRemapped() {
+		ID_GENERATION++;
+	}
+	
+	public boolean contains(T entry) {
+		return containsId(getId(entry));
+	}
+	
+	/**
+	 * Forge resolves ids through a BiMap with equals based hashing, so the ids are cached in an identity map that is shared per registry and rebuilt when the ids change.
+	 * Falls back to the registry while registries are still loading or if the element isn't cached.
+	 */
+	private int getId(T entry) {
+		if(!CarbonConfig.areRegistriesLoaded()) return registry.getID(entry);
+		IdCache cache = idCache;
+		if(cache == null || cache.generation != ID_GENERATION) {
+			cache = getIdCache(registry);
+			idCache = cache;
+		}
+		int id = cache.ids.getInt(entry);
+		return id != -1 ? id : registry.getID(entry);
+	}
+	
+	private static IdCache getIdCache(ForgeRegistry<?> registry) {
+		int generation = ID_GENERATION;
+		synchronized(ID_CACHES) {
+			IdCache cache = ID_CACHES.get(registry);
+			if(cache == null || cache.generation != generation) {
+				cache = new IdCache(registry, generation);
+				ID_CACHES.put(registry, cache);
+			}
+			return cache;
+		}
+	}
+	
+	/**
+	 * Checks the registry id against a bitset that is rebuilt lazily whenever the value or the registry ids changed.
+	 * Tags are expanded into the same bitset, when only the tags changed the direct entries are reused.
+	 */
+	public boolean containsId(int id) {
+		return id >= 0 && getIdView().ids.get(id);
+	}
+	
+	private IdView getIdView() {
+		Set<T> value = getValue();
+		int generation = ID_GENERATION;
+		int tagGeneration = TaggedSet.TAG_GENERATION;
+		IdView view = idView;
+		boolean rebuild = view == null || view.source != value || view.generation != generation;
+		if(!rebuild && view.tagGeneration == tagGeneration) return view;
+		BitSet direct = rebuild ? createIds(value) : view.direct;
+		BitSet ids = direct;
+		List<ResourceLocation> tags = TaggedSet.getTags(value);
+		if(!tags.isEmpty()) {
+			ids = (BitSet)direct.clone();
+			TaggedSet.expand(registry, tags, filter, ids, null);
+		}
+		view = new IdView(value, generation, tagGeneration, direct, ids);
+		idView = view;
+		return view;
+	}
+	
+	private BitSet createIds(Set<T> value) {
+		BitSet ids = new BitSet();
+		for(T entry : value) {
+			int id = getId(entry);
+			if(id >= 0) ids.set(id);
+		}
+		return ids;
+	}
+	
+	@Override
+	public boolean hasChanged() {
+		return super.hasChanged() || !TaggedSet.sameExtras(getValue(), syncedExtras);
+	}
+	
+	@Override
+	public void onSynced() {
+		super.onSynced();
+		syncedExtras = TaggedSet.extrasOf(getValue());
+	}
+	
 	@Override
 	protected RegistryValue<T> copy() {
 		return new RegistryValue<>(getKey(), registry, clz, getDefault(), filter, getComment());
@@ -70,10 +190,14 @@ public class RegistryValue<T> extends CollectionConfigEntry<T, Set<T>> implement
 	
 	@Override
 	protected String serializedValue(MultilinePolicy policy, Set<T> value) {
-		String[] result = new String[value.size()];
+		List<ResourceLocation> tags = TaggedSet.getTags(value);
+		String[] result = new String[value.size() + tags.size()];
 		int i = 0;
 		for(T entry : value) {
-			result[i] = registry.getKey(entry).toString();
+			result[i++] = registry.getKey(entry).toString();
+		}
+		for(ResourceLocation tag : tags) {
+			result[i++] = "#"+tag;
 		}
 		return serializeArray(policy, result);
 	}
@@ -81,17 +205,30 @@ public class RegistryValue<T> extends CollectionConfigEntry<T, Set<T>> implement
 	@Override
 	public ParseResult<Set<T>> parseValue(String value) {
 		String[] values = Helpers.splitArray(value, ",");
-		Set<T> result = new ObjectLinkedOpenHashSet<>();
-		for(int i = 0,m=values.length;i<m;i++) {
-			ResourceLocation location = ResourceLocation.tryParse(values[i]);
-			if(location == null) continue;
-			T entry = registry.getValue(location);
-			if(entry == null || (filter != null && !filter.test(entry))) continue;
-			result.add(entry);
+		TaggedSet<T> result = new TaggedSet<>();
+		synchronized(memo) {
+			memo.begin(CarbonConfig.areRegistriesLoaded() ? ID_GENERATION : -1);
+			for(int i = 0,m=values.length;i<m;i++) {
+				if(TaggedSet.isTag(values[i])) {
+					ResourceLocation tag = TaggedSet.parseTag(values[i]);
+					if(tag != null) result.addTag(tag);
+					continue;
+				}
+				T entry = memo.get(values[i], this::parseElement);
+				if(entry != null) result.add(entry);
+			}
+			memo.finish();
 		}
 		return ParseResult.success(result);
 	}
 	
+	private T parseElement(String value) {
+		ResourceLocation location = ResourceLocation.tryParse(value);
+		if(location == null) return null;
+		T entry = registry.getValue(location);
+		return entry == null || (filter != null && !filter.test(entry)) ? null : entry;
+	}
+	
 	@Override
 	public ParseResult<Boolean> canSet(Set<T> value) {
 		ParseResult<Boolean> result = super.canSet(value);
@@ -109,6 +246,9 @@ public class RegistryValue<T> extends CollectionConfigEntry<T, Set<T>> implement
 		for(T entry : getValue()) {
 			result.add(registry.getKey(entry).toString());
 		}
+		for(ResourceLocation tag : TaggedSet.getTags(getValue())) {
+			result.add("#"+tag);
+		}
 		return result;
 	}
 	
@@ -125,6 +265,10 @@ public class RegistryValue<T> extends CollectionConfigEntry<T, Set<T>> implement
 	public ParseResult<Boolean> canSetArray(List<String> entries) {
 		if(entries == null) return ParseResult.partial(false, NullPointerException::new, "Value isn't allowed to be null");
 		for(int i = 0,m=entries.size();i<m;i++) {
+			if(TaggedSet.isTag(entries.get(i))) {
+				if(TaggedSet.parseTag(entries.get(i)) == null) return ParseResult.partial(false, IllegalArgumentException::new, "Tag ["+entries.get(i)+"] isn't a valid tag");
+				continue;
+			}
 			T result = registry.getValue(ResourceLocation.tryParse(entries.get(i)));
 			if(result == null) return ParseResult.partial(false, NoSuchElementException::new, "Value ["+entries.get(i)+"] doesn't exist in the registry");
 			if(filter != null && !filter.test(result)) return ParseResult.partial(false, IllegalArgumentException::new, "Value ["+entries.get(i)+"] isn't allowed");
@@ -159,22 +303,37 @@ public class RegistryValue<T> extends CollectionConfigEntry<T, Set<T>> implement
 	@Override
 	public void serialize(IWriteBuffer buffer) {
 		Set<T> value = getValue();
-		buffer.writeVarInt(value.size());
+		int[] ids = new int[value.size()];
+		int i = 0;
 		for(T entry : value) {
-			buffer.writeVarInt(registry.getID(entry));
+			ids[i++] = getId(entry);
+		}
+		buffer.writeVarInt(ids.length);
+		IBulkWriteBuffer.writeVarInts(buffer, ids, 0, ids.length);
+		List<ResourceLocation> tags = TaggedSet.getTags(value);
+		buffer.writeVarInt(tags.size());
+		for(int j = 0,m=tags.size();j<m;j++) {
+			buffer.writeString(tags.get(j).toString());
 		}
 	}
 
 	@Override
 	protected void deserializeValue(IReadBuffer buffer) {
-		Set<T> result = new ObjectLinkedOpenHashSet<>();
-		int size = buffer.readVarInt();
-		for(int i = 0;i<size;i++) {
-			T entry = registry.getValue(buffer.readVarInt());
+		int[] ids = new int[IBulkReadBuffer.readLength(buffer, 1, registry.getKeys().size())];
+		IBulkReadBuffer.readVarInts(buffer, ids, 0, ids.length);
+		TaggedSet<T> result = new TaggedSet<>();
+		for(int i = 0;i<ids.length;i++) {
+			T entry = registry.getValue(ids[i]);
 			if(entry != null) {
 				result.add(entry);
 			}
 		}
+		int tags = buffer.readVarInt();
+		for(int i = 0;i<tags;i++) {
+			ResourceLocation tag = ResourceLocation.tryParse(buffer.readString());
+			if(tag != null) result.addTag(tag);
+		}
+		set(result);
 	}
 
 	@Override
@@ -182,6 +341,35 @@ public class RegistryValue<T> extends CollectionConfigEntry<T, Set<T>> implement
 		return ObjectSets.singleton(value);
 	}
 	
+	static class IdCache {
+		int generation;
+		Reference2IntMap<Object> ids = new Reference2IntOpenHashMap<>();
+		
+		public <E> IdCache(ForgeRegistry<E> registry, int generation) {
+			this.generation = generation;
+			ids.defaultReturnValue(-1);
+			for(E entry : registry) {
+				ids.put(entry, registry.getID(entry));
+			}
+		}
+	}
+	
+	static class IdView {
+		Set<?> source;
+		int generation;
+		int tagGeneration;
+		BitSet direct;
+		BitSet ids;
+		
+		public IdView(Set<?> source, int generation, int tagGeneration, BitSet direct, BitSet ids) {
+			this.source = source;
+			this.generation = generation;
+			this.tagGeneration = tagGeneration;
+			this.direct = direct;
+			this.ids = ids;
+		}
+	}
+	
 	public static class Builder<E> {
 		Class<E> clz;
 		String key;
@@ -216,14 +404,11 @@ public class RegistryValue<T> extends CollectionConfigEntry<T, Set<T>> implement
 		}
 		
 		public RegistryValue<E> build(IForgeRegistry<E> registry) {
-			RegistryValue<E> result = new RegistryValue<>(key, registry, clz, values, filter, comments);
-			CarbonConfig.runAfterRegistries(result::loadSuggestions);
-			return result;
+			return new RegistryValue<>(key, registry, clz, values, filter, comments);
 		}
 		
 		public RegistryValue<E> build(IForgeRegistry<E> registry, ConfigSection section) {
 			RegistryValue<E> result = new RegistryValue<>(key, registry, clz, values, filter, comments);
-			CarbonConfig.runAfterRegistries(result::loadSuggestions);
 			section.add(result);
 			return result;
 		}
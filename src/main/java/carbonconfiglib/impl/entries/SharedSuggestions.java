@@ -0,0 +1,87 @@
+package carbonconfiglib.impl.entries;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import carbonconfiglib.CarbonConfig;
+import carbonconfiglib.config.ConfigEntry.Suggestion;
+import it.unimi.dsi.fastutil.objects.Object2ObjectMaps;
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import it.unimi.dsi.fastutil.objects.ObjectLists;
+import net.minecraftforge.fml.loading.FMLEnvironment;
+
+/**
+ * Copyright 2023 Speiger, Meduris
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+public class SharedSuggestions
+{
+	static final Map<Key, List<Suggestion>> CACHE = Object2ObjectMaps.synchronize(new Object2ObjectOpenHashMap<>());
+	
+	/**
+	 * Suggestions are only needed by the GUI, so dedicated servers and anything before the registries are loaded never builds them.
+	 */
+	public static boolean canLoad() {
+		return !FMLEnvironment.dist.isDedicatedServer() && CarbonConfig.areRegistriesLoaded();
+	}
+	
+	/**
+	 * Gets the suggestion list shared by every entry with the same registry and filter instance, builds it if needed.
+	 */
+	public static List<Suggestion> get(Object registry, Object filter, Supplier<List<Suggestion>> builder) {
+		Key key = new Key(registry, filter);
+		List<Suggestion> result = CACHE.get(key);
+		if(result == null) {
+			result = ObjectLists.unmodifiable(new ObjectArrayList<>(builder.get()));
+			CACHE.put(key, result);
+		}
+		return result;
+	}
+	
+	/**
+	 * Suggestions that were added to the entry directly are kept in front of the shared ones.
+	 */
+	public static List<Suggestion> merge(List<Suggestion> own, List<Suggestion> shared) {
+		if(own.isEmpty()) return shared;
+		List<Suggestion> result = new ObjectArrayList<>(own);
+		result.addAll(shared);
+		return ObjectLists.unmodifiable(result);
+	}
+	
+	static class Key {
+		Object registry;
+		Object filter;
+		
+		public Key(Object registry, Object filter) {
+			this.registry = registry;
+			this.filter = filter;
+		}
+		
+		@Override
+		public int hashCode() {
+			return System.identityHashCode(registry) * 31 + System.identityHashCode(filter);
+		}
+		
+		@Override
+		public boolean equals(Object obj) {
+			if(obj instanceof Key) {
+				Key other = (Key)obj;
+				return other.registry == registry && other.filter == filter;
+			}
+			return false;
+		}
+	}
+}
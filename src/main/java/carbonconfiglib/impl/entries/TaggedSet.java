@@ -0,0 +1,131 @@
+package carbonconfiglib.impl.entries;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import it.unimi.dsi.fastutil.objects.ObjectLinkedOpenHashSet;
+import it.unimi.dsi.fastutil.objects.ObjectLists;
+import it.unimi.dsi.fastutil.objects.ObjectSets;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraftforge.registries.ForgeRegistry;
+import net.minecraftforge.registries.tags.ITagManager;
+
+/**
+ * Copyright 2023 Speiger, Meduris
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+public class TaggedSet<T> extends ObjectLinkedOpenHashSet<T>
+{
+	private static final long serialVersionUID = 1L;
+	static volatile int TAG_GENERATION = 0;
+	List<ResourceLocation> tags = new ObjectArrayList<>();
+	List<String> patterns = new ObjectArrayList<>();
+	transient volatile KeyMatcher matcher;
+	
+	public TaggedSet() {
+	}
+	
+	public TaggedSet(Set<T> values, List<ResourceLocation> tags, List<String> patterns) {
+		super(values);
+		this.tags.addAll(tags);
+		this.patterns.addAll(patterns);
+	}
+	
+	public static void onTagsUpdated() {
+		TAG_GENERATION++;
+	}
+	
+	public static List<ResourceLocation> getTags(Set<?> value) {
+		return value instanceof TaggedSet ? ((TaggedSet<?>)value).tags : ObjectLists.emptyList();
+	}
+	
+	public static List<String> getPatterns(Set<?> value) {
+		return value instanceof TaggedSet ? ((TaggedSet<?>)value).patterns : ObjectLists.emptyList();
+	}
+	
+	public static KeyMatcher getMatcher(Set<?> value) {
+		return value instanceof TaggedSet ? ((TaggedSet<?>)value).getMatcher() : KeyMatcher.EMPTY;
+	}
+	
+	/**
+	 * Tags and patterns are not part of the set equality, so entries compare them separately to notice edits that only touch them.
+	 */
+	public static TaggedSet<Object> extrasOf(Set<?> value) {
+		return new TaggedSet<>(ObjectSets.emptySet(), getTags(value), getPatterns(value));
+	}
+	
+	public static boolean sameExtras(Set<?> first, Set<?> second) {
+		return getTags(first).equals(getTags(second)) && getPatterns(first).equals(getPatterns(second));
+	}
+	
+	public static boolean isTag(String value) {
+		return value.startsWith("#");
+	}
+	
+	public static ResourceLocation parseTag(String value) {
+		return ResourceLocation.tryParse(value.substring(1));
+	}
+	
+	public void addTag(ResourceLocation tag) {
+		if(!tags.contains(tag)) tags.add(tag);
+	}
+	
+	public List<ResourceLocation> getTags() {
+		return tags;
+	}
+	
+	public void addPattern(String pattern) {
+		if(patterns.contains(pattern)) return;
+		patterns.add(pattern);
+		matcher = null;
+	}
+	
+	public List<String> getPatterns() {
+		return patterns;
+	}
+	
+	public KeyMatcher getMatcher() {
+		KeyMatcher result = matcher;
+		if(result == null) {
+			result = patterns.isEmpty() ? KeyMatcher.EMPTY : new KeyMatcher(patterns);
+			matcher = result;
+		}
+		return result;
+	}
+	
+	/**
+	 * Adds every registry element of the tags that passes the filter.
+	 * Elements are optional and can be null if only the ids are needed.
+	 */
+	public static <E> void expand(ForgeRegistry<E> registry, List<ResourceLocation> tags, Predicate<E> filter, BitSet ids, Set<Object> elements) {
+		ITagManager<E> manager = registry.tags();
+		if(manager == null) return;
+		for(int i = 0,m=tags.size();i<m;i++) {
+			for(E entry : manager.getTag(manager.createTagKey(tags.get(i)))) {
+				if(filter != null && !filter.test(entry)) continue;
+				int id = registry.getID(entry);
+				if(id >= 0) ids.set(id);
+				if(elements != null) elements.add(entry);
+			}
+		}
+	}
+	
+	@Override
+	public TaggedSet<T> clone() {
+		return new TaggedSet<>(this, tags, patterns);
+	}
+}
@@ -0,0 +1,55 @@
+package carbonconfiglib.impl.internal;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+import carbonconfiglib.CarbonConfig;
+import carbonconfiglib.config.ConfigHandler;
+import it.unimi.dsi.fastutil.ints.IntArrays;
+
+/**
+ * Copyright 2023 Speiger, Meduris
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+public class ConfigLoader
+{
+	/**
+	 * Runs the action for every config in order on the calling thread and logs a timing report at the end.
+	 * This is no parallel load, ConfigHandler.load() resolves the file, parses it and marks the config as loaded in one step.
+	 */
+	public static void load(String phase, List<ConfigHandler> handlers, Consumer<ConfigHandler> action) {
+		if(handlers.isEmpty()) return;
+		int size = handlers.size();
+		long[] times = new long[size];
+		long start = System.nanoTime();
+		for(int i = 0;i<size;i++) {
+			long time = System.nanoTime();
+			action.accept(handlers.get(i));
+			times[i] = System.nanoTime() - time;
+		}
+		CarbonConfig.LOGGER.info(phase+": "+size+" Configs took "+toMillis(System.nanoTime() - start)+"ms");
+		if(!CarbonConfig.LOGGER.isDebugEnabled()) return;
+		int[] order = IntStream.range(0, size).toArray();
+		IntArrays.quickSort(order, (K, V) -> Long.compare(times[V], times[K]));
+		for(int index : order) {
+			CarbonConfig.LOGGER.debug(" - ["+handlers.get(index).getConfigIdentifer()+"] "+toMillis(times[index])+"ms");
+		}
+	}
+	
+	private static String toMillis(long nanos) {
+		return String.format(Locale.ROOT, "%.2f", nanos / 1000000D);
+	}
+}
@@ -0,0 +1,306 @@
+package carbonconfiglib.impl.internal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import com.google.common.hash.Hashing;
+
+import carbonconfiglib.CarbonConfig;
+import carbonconfiglib.config.Config;
+import carbonconfiglib.config.ConfigEntry;
+import carbonconfiglib.config.ConfigHandler;
+import carbonconfiglib.impl.ConfigLines;
+import carbonconfiglib.networking.carbon.SaveConfigPacket;
+import it.unimi.dsi.fastutil.objects.Object2LongMap;
+import it.unimi.dsi.fastutil.objects.Object2LongOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import it.unimi.dsi.fastutil.objects.ObjectIterator;
+
+/**
+ * Copyright 2023 Speiger, Meduris
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+public class ConfigReloader implements Runnable
+{
+	static final long MAX_WAIT = 250L;
+	Path folder;
+	WatchService service;
+	Object2LongMap<Path> pending = new Object2LongOpenHashMap<>();
+	Object2LongMap<Path> hashes = new Object2LongOpenHashMap<>();
+	Queue<Reload> reloads = new ConcurrentLinkedQueue<>();
+	Queue<Path> retries = new ConcurrentLinkedQueue<>();
+	volatile Map<Path, ConfigHandler> targets = new Object2ObjectOpenHashMap<>();
+	volatile boolean targetsRequested = true;
+	volatile long debouncedEvents;
+	volatile long suppressedReloads;
+	volatile long reloadCount;
+	
+	public ConfigReloader(Path folder) {
+		this.folder = folder.toAbsolutePath();
+		try {
+			service = FileSystems.getDefault().newWatchService();
+			register(folder);
+			Thread thread = new Thread(this, "Carbon Config Watcher");
+			thread.setDaemon(true);
+			thread.start();
+		}
+		catch(IOException e) {
+			CarbonConfig.LOGGER.warn("Couldn't watch the Config Folder, reloads will be processed on the main thread", e);
+			service = null;
+		}
+	}
+	
+	private void register(Path path) throws IOException {
+		try(Stream<Path> stream = Files.walk(path)) {
+			for(Path dir : (Iterable<Path>)stream.filter(Files::isDirectory)::iterator) {
+				dir.register(service, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+			}
+		}
+	}
+	
+	/**
+	 * Applies the reloads that the watcher thread prepared. Only the entries that actually changed are touched here.
+	 * The values were already parsed by the watcher thread, so they are only swapped in here.
+	 * @return true if the file system events of the core have to be processed, because the config folder couldn't be watched.
+	 */
+	public boolean processReloads() {
+		if(service == null) return true;
+		if(targetsRequested) {
+			Map<Path, ConfigHandler> result = new Object2ObjectOpenHashMap<>();
+			for(ConfigHandler handler : CarbonConfig.CONFIGS.getAllConfigs()) {
+				if(handler.isLoaded()) result.put(handler.getConfigFile().toAbsolutePath(), handler);
+			}
+			targets = result;
+			targetsRequested = false;
+		}
+		for(Reload reload = reloads.poll();reload != null;reload = reloads.poll()) {
+			if(!reload.apply()) {
+				retries.add(reload.file);
+				targetsRequested = true;
+				continue;
+			}
+			markKnown(reload.file, reload.hash);
+			CarbonConfig.LOGGER.debug("Config Watcher Stats: "+reloadCount+" prepared Reloads, "+suppressedReloads+" suppressed Reloads, "+debouncedEvents+" debounced Events");
+		}
+		return false;
+	}
+	
+	@Override
+	public void run() {
+		List<Path> unresolved = new ObjectArrayList<>();
+		while(true) {
+			try {
+				WatchKey key = service.poll(pending.isEmpty() && retries.isEmpty() ? MAX_WAIT : Math.min(MAX_WAIT, Math.max(1L, CarbonConfig.RELOAD_DELAY.get())), TimeUnit.MILLISECONDS);
+				long now = System.currentTimeMillis();
+				for(;key != null;key = service.poll()) {
+					collectEvents(key, now);
+				}
+				for(Path file = retries.poll();file != null;file = retries.poll()) {
+					pending.put(file, now);
+				}
+				if(pending.isEmpty()) continue;
+				long delay = CarbonConfig.RELOAD_DELAY.get();
+				boolean requested = targetsRequested;
+				Map<Path, ConfigHandler> targets = this.targets;
+				for(ObjectIterator<Object2LongMap.Entry<Path>> iter = pending.object2LongEntrySet().iterator();iter.hasNext();) {
+					Object2LongMap.Entry<Path> entry = iter.next();
+					if(now - entry.getLongValue() < delay) continue;
+					Path file = entry.getKey();
+					ConfigHandler handler = targets.get(file);
+					if(handler != null && !file.equals(handler.getConfigFile().toAbsolutePath())) handler = null;
+					if(handler == null && !requested && unresolved.remove(file)) {
+						iter.remove();
+						CarbonConfig.LOGGER.debug("Ignored Change of ["+folder.relativize(file)+"] because no loaded Config owns it");
+						continue;
+					}
+					if(handler == null) {
+						if(!unresolved.contains(file)) unresolved.add(file);
+						targetsRequested = true;
+						continue;
+					}
+					iter.remove();
+					unresolved.remove(file);
+					prepare(handler, file);
+				}
+			}
+			catch(InterruptedException e) {
+				return;
+			}
+			catch(Exception e) {
+				CarbonConfig.LOGGER.error("Config Watcher failed to process changes", e);
+			}
+		}
+	}
+	
+	private void collectEvents(WatchKey key, long now) {
+		Path dir = (Path)key.watchable();
+		for(WatchEvent<?> event : key.pollEvents()) {
+			if(event.kind() == StandardWatchEventKinds.OVERFLOW) {
+				synchronized(hashes) {
+					hashes.clear();
+				}
+				for(Path file : targets.keySet()) {
+					pending.put(file, now);
+				}
+				continue;
+			}
+			Path file = dir.resolve((Path)event.context()).toAbsolutePath();
+			if(file.getFileName().toString().endsWith(ConfigSaver.TEMP_SUFFIX)) continue;
+			if(event.kind() == StandardWatchEventKinds.ENTRY_CREATE && Files.isDirectory(file)) {
+				try { register(file); }
+				catch(IOException e) { CarbonConfig.LOGGER.warn("Couldn't watch Folder ["+file+"]", e); }
+				continue;
+			}
+			if(pending.put(file, now) != pending.defaultReturnValue()) debouncedEvents++;
+		}
+		key.reset();
+	}
+	
+	/**
+	 * Parses the file into a copy of the config, so the main thread only has to swap in the values that changed.
+	 */
+	private void prepare(ConfigHandler handler, Path file) throws IOException {
+		if(!Files.isRegularFile(file)) return;
+		byte[] data = Files.readAllBytes(file);
+		long hash = Hashing.sipHash24().hashBytes(data).asLong();
+		if(isKnown(file, hash)) {
+			suppressedReloads++;
+			CarbonConfig.LOGGER.debug("Skipped Reload of ["+folder.relativize(file)+"] because its content didn't change");
+			return;
+		}
+		Config config = handler.getConfig();
+		Config copy = config.copy();
+		Map<String, ConfigEntry<?>> parsed = SaveConfigPacket.collectEntries(copy);
+		Map<String, Object> previous = new Object2ObjectOpenHashMap<>();
+		for(Map.Entry<String, ConfigEntry<?>> entry : parsed.entrySet()) {
+			previous.put(entry.getKey(), entry.getValue().getValue());
+		}
+		try {
+			ConfigLines.load(handler, copy, ByteBuffer.wrap(data), false);
+		}
+		catch(Exception e) {
+			CarbonConfig.LOGGER.error("Couldn't reload Config ["+handler.getConfigIdentifer()+"]", e);
+			return;
+		}
+		Map<String, ConfigEntry<?>> live = SaveConfigPacket.collectEntries(config);
+		List<Change<?>> changes = new ObjectArrayList<>();
+		for(Map.Entry<String, ConfigEntry<?>> entry : parsed.entrySet()) {
+			ConfigEntry<?> target = live.get(entry.getKey());
+			if(target == null || Objects.equals(previous.get(entry.getKey()), entry.getValue().getValue())) continue;
+			changes.add(Change.of(target, entry.getValue()));
+		}
+		reloadCount++;
+		if(changes.isEmpty()) markKnown(file, hash);
+		else reloads.add(new Reload(handler, config, file, hash, changes));
+	}
+	
+	/**
+	 * Remembers content that was written by the mod itself, so the following file event doesn't cause a reload.
+	 */
+	public void markWritten(Path file, byte[] data) {
+		markKnown(file.toAbsolutePath(), Hashing.sipHash24().hashBytes(data).asLong());
+	}
+	
+	private boolean isKnown(Path file, long hash) {
+		synchronized(hashes) {
+			return hashes.containsKey(file) && hashes.getLong(file) == hash;
+		}
+	}
+	
+	private void markKnown(Path file, long hash) {
+		synchronized(hashes) {
+			hashes.put(file, hash);
+		}
+	}
+	
+	public long getDebouncedEvents() {
+		return debouncedEvents;
+	}
+	
+	public long getSuppressedReloads() {
+		return suppressedReloads;
+	}
+	
+	public long getReloads() {
+		return reloadCount;
+	}
+	
+	private static class Reload {
+		ConfigHandler handler;
+		Config config;
+		Path file;
+		long hash;
+		List<Change<?>> changes;
+		
+		public Reload(ConfigHandler handler, Config config, Path file, long hash, List<Change<?>> changes) {
+			this.handler = handler;
+			this.config = config;
+			this.file = file;
+			this.hash = hash;
+			this.changes = changes;
+		}
+		
+		/**
+		 * @return false if the config was replaced in the meantime and the reload has to be prepared again
+		 */
+		boolean apply() {
+			if(!handler.isLoaded() || handler.getConfig() != config) return false;
+			int changed = 0;
+			for(int i = 0,m=changes.size();i<m;i++) {
+				if(changes.get(i).apply()) changed++;
+			}
+			if(changed <= 0) return true;
+			handler.onSynced();
+			EventHandler.INSTANCE.onConfigChanged(handler);
+			CarbonConfig.LOGGER.info("Reloaded ["+handler.getConfigIdentifer()+"] Config ("+changed+" changed Entries)");
+			return true;
+		}
+	}
+	
+	private static class Change<T> {
+		ConfigEntry<T> entry;
+		T value;
+		
+		public Change(ConfigEntry<T> entry, T value) {
+			this.entry = entry;
+			this.value = value;
+		}
+		
+		@SuppressWarnings("unchecked")
+		static <T> Change<T> of(ConfigEntry<T> entry, ConfigEntry<?> parsed) {
+			return new Change<>(entry, (T)parsed.getValue());
+		}
+		
+		boolean apply() {
+			if(Objects.equals(value, entry.getValue())) return false;
+			entry.set(value);
+			return true;
+		}
+	}
+}
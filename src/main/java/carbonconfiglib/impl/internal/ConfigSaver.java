@@ -0,0 +1,139 @@
+package carbonconfiglib.impl.internal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import carbonconfiglib.CarbonConfig;
+import carbonconfiglib.config.ConfigHandler;
+import it.unimi.dsi.fastutil.objects.Object2ObjectLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+
+/**
+ * Copyright 2023 Speiger, Meduris
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+public class ConfigSaver
+{
+	public static final ConfigSaver INSTANCE = new ConfigSaver();
+	public static final String TEMP_SUFFIX = ".carbon-tmp";
+	ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(T -> {
+		Thread thread = new Thread(T, "Carbon Config Saver");
+		thread.setDaemon(true);
+		return thread;
+	});
+	Map<Path, byte[]> pending = new Object2ObjectLinkedOpenHashMap<>();
+	
+	private ConfigSaver() {
+		Runtime.getRuntime().addShutdownHook(new Thread(this::flush, "Carbon Config Save Flush"));
+	}
+	
+	/**
+	 * Serializes the config on the calling thread and writes it in the background.
+	 * Configs that aren't loaded don't have a file yet, so they are saved directly.
+	 */
+	public void save(ConfigHandler handler) {
+		if(!handler.isLoaded()) {
+			handler.save();
+			return;
+		}
+		save(handler.getConfigFile(), handler.getConfig().serialize(handler.getMultilinePolicy()));
+	}
+	
+	/**
+	 * Queues the content to be written into the file. Saves to the same file within the save delay are collapsed into one write.
+	 */
+	public void save(Path path, String content) {
+		save(path, content.getBytes(StandardCharsets.UTF_8));
+	}
+	
+	/**
+	 * Queues the raw data to be written into the file, with the same collapsing as text saves.
+	 */
+	public void save(Path path, byte[] content) {
+		Path target = path.toAbsolutePath();
+		synchronized(this) {
+			if(pending.put(target, content) != null) return;
+		}
+		executor.schedule(() -> write(target), CarbonConfig.SAVE_DELAY.get(), TimeUnit.MILLISECONDS);
+	}
+	
+	/**
+	 * Blocks until every queued save was written.
+	 */
+	public void flush() {
+		List<Path> paths;
+		synchronized(this) {
+			if(pending.isEmpty()) return;
+			paths = new ObjectArrayList<>(pending.keySet());
+		}
+		try {
+			executor.submit(() -> paths.forEach(this::write)).get();
+		}
+		catch(Exception e) {
+			CarbonConfig.LOGGER.error("Couldn't flush Config Saves", e);
+		}
+	}
+	
+	private void write(Path target) {
+		byte[] content;
+		synchronized(this) {
+			content = pending.remove(target);
+		}
+		if(content == null) return;
+		try {
+			writeAtomic(target, content);
+		}
+		catch(IOException e) {
+			CarbonConfig.LOGGER.error("Couldn't save Config ["+target+"]", e);
+		}
+	}
+	
+	private static void writeAtomic(Path target, byte[] content) throws IOException {
+		Path folder = target.getParent();
+		Files.createDirectories(folder);
+		Path temp = Files.createTempFile(folder, target.getFileName().toString(), TEMP_SUFFIX);
+		try {
+			try(FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+				ByteBuffer buffer = ByteBuffer.wrap(content);
+				while(buffer.hasRemaining()) {
+					channel.write(buffer);
+				}
+				channel.force(true);
+			}
+			ConfigReloader reloader = EventHandler.INSTANCE.reloader;
+			if(reloader != null) reloader.markWritten(target, content);
+			try {
+				Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+			}
+			catch(AtomicMoveNotSupportedException e) {
+				Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+			}
+		}
+		finally {
+			Files.deleteIfExists(temp);
+		}
+	}
+}
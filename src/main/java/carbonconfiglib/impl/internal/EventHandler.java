@@ -15,10 +15,16 @@ import carbonconfiglib.gui.impl.forge.ForgeConfigs;
 import carbonconfiglib.gui.screen.ConfigSelectorScreen;
 import carbonconfiglib.gui.widgets.SuggestionRenderers;
 import carbonconfiglib.impl.PerWorldProxy;
+import carbonconfiglib.impl.PlayerValueStore;
 import carbonconfiglib.impl.entries.ColorValue;
 import carbonconfiglib.impl.entries.ColorValue.ColorWrapper;
+import carbonconfiglib.impl.entries.RegistryValue;
+import carbonconfiglib.impl.entries.TaggedSet;
 import carbonconfiglib.networking.snyc.BulkSyncPacket;
-import carbonconfiglib.networking.snyc.SyncPacket;
+import carbonconfiglib.networking.snyc.SyncApplier;
+import carbonconfiglib.networking.snyc.SyncCache;
+import carbonconfiglib.networking.snyc.SyncHashPacket;
+import carbonconfiglib.networking.snyc.SyncSchema;
 import carbonconfiglib.utils.SyncType;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.screens.Screen;
@@ -33,15 +39,19 @@ import net.minecraftforge.api.distmarker.OnlyIn;
 import net.minecraftforge.client.ConfigScreenHandler.ConfigScreenFactory;
 import net.minecraftforge.client.event.ClientPlayerNetworkEvent.LoggingIn;
 import net.minecraftforge.client.event.ClientPlayerNetworkEvent.LoggingOut;
+import net.minecraftforge.event.TagsUpdatedEvent;
 import net.minecraftforge.event.TickEvent.ClientTickEvent;
 import net.minecraftforge.event.TickEvent.Phase;
 import net.minecraftforge.event.TickEvent.ServerTickEvent;
 import net.minecraftforge.event.entity.player.PlayerEvent.PlayerLoggedInEvent;
+import net.minecraftforge.event.entity.player.PlayerEvent.PlayerLoggedOutEvent;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fml.ModContainer;
 import net.minecraftforge.fml.ModList;
 import net.minecraftforge.fml.ModLoadingContext;
 import net.minecraftforge.fml.loading.FMLEnvironment;
+import net.minecraftforge.fml.loading.FMLPaths;
+import net.minecraftforge.registries.IdMappingEvent;
 import net.minecraftforge.server.ServerLifecycleHooks;
 import speiger.src.collections.objects.lists.ObjectArrayList;
 import speiger.src.collections.objects.maps.impl.hash.Object2ObjectLinkedOpenHashMap;
@@ -66,6 +76,7 @@ public class EventHandler implements IConfigChangeListener
 {
 	public static final EventHandler INSTANCE = new EventHandler();
 	Map<ModContainer, ModConfigs> configs = new Object2ObjectLinkedOpenHashMap<>();
+	volatile ConfigReloader reloader;
 	
 	@Override
 	public void onConfigCreated(ConfigHandler config) {
@@ -92,18 +103,15 @@ public class EventHandler implements IConfigChangeListener
 	@Override
 	public void onConfigChanged(ConfigHandler config) {
 		if(FMLEnvironment.dist.isDedicatedServer()) {
-			SyncPacket packet = SyncPacket.create(config, SyncType.SERVER_TO_CLIENT, false);
-			if(packet != null) CarbonConfig.NETWORK.sendToAllPlayers(packet);
+			SyncScheduler.INSTANCE.queue(config, SyncType.SERVER_TO_CLIENT);
 			return;
 		}
 		MinecraftServer server = ServerLifecycleHooks.getCurrentServer();
 		if(server != null) {
-			SyncPacket packet = SyncPacket.create(config, SyncType.SERVER_TO_CLIENT, false);
-			if(packet != null) CarbonConfig.NETWORK.sendToAllPlayers(packet);
+			SyncScheduler.INSTANCE.queue(config, SyncType.SERVER_TO_CLIENT);
 		}
 		if(CarbonConfig.NETWORK.isInWorld()) {
-			SyncPacket packet = SyncPacket.create(config, SyncType.CLIENT_TO_SERVER, false);
-			if(packet != null) CarbonConfig.NETWORK.sendToServer(packet);
+			SyncScheduler.INSTANCE.queue(config, SyncType.CLIENT_TO_SERVER);
 		}
 	}
 	
@@ -112,15 +120,21 @@ public class EventHandler implements IConfigChangeListener
 	}
 	
 	@SubscribeEvent
-	@OnlyIn(Dist.DEDICATED_SERVER)
 	public void onServerTickEvent(ServerTickEvent event) {
-		if(event.phase == Phase.END) processEvents();
+		if(event.phase != Phase.END) return;
+		if(FMLEnvironment.dist.isDedicatedServer()) processEvents();
+		SyncApplier.SERVER.onTick();
+		SyncScheduler.INSTANCE.onTick(SyncType.SERVER_TO_CLIENT);
 	}
 	
 	@SubscribeEvent
 	@OnlyIn(Dist.CLIENT)
 	public void onClientTickEvent(ClientTickEvent event) {
-		if(event.phase == Phase.END) processEvents();		
+		if(event.phase != Phase.END) return;
+		processEvents();
+		SyncApplier.CLIENT.onTick();
+		SyncScheduler.INSTANCE.onTick(SyncType.CLIENT_TO_SERVER);
+		SyncCache.onTick();
 	}
 	
 	@OnlyIn(Dist.CLIENT)
@@ -166,18 +180,37 @@ public class EventHandler implements IConfigChangeListener
 		return new ConfigSelectorScreen(configs, screen);
 	}
 	
+	@SubscribeEvent
+	public void onIdsRemapped(IdMappingEvent event) {
+		RegistryValue.onIdsRemapped();
+	}
+	
+	@SubscribeEvent
+	public void onTagsUpdated(TagsUpdatedEvent event) {
+		TaggedSet.onTagsUpdated();
+	}
+	
 	@SubscribeEvent
 	public void onPlayerServerJoinEvent(PlayerLoggedInEvent event) {
-		BulkSyncPacket packet = BulkSyncPacket.create(CarbonConfig.CONFIGS.getConfigsToSync(), SyncType.SERVER_TO_CLIENT, true);
-		if(packet == null) return;
-		CarbonConfig.NETWORK.sendToPlayer(packet, event.getEntity());
+		CarbonConfig.NETWORK.sendToPlayer(SyncSchema.local(SyncType.SERVER_TO_CLIENT).createFull(), event.getEntity());
+	}
+	
+	@SubscribeEvent
+	public void onPlayerServerLeaveEvent(PlayerLoggedOutEvent event) {
+		SyncSchema.clearRemote(event.getEntity());
+		SyncApplier.SERVER.clear(event.getEntity());
+		PlayerValueStore.INSTANCE.remove(event.getEntity().getUUID());
 	}
 	
 	@SubscribeEvent
 	@OnlyIn(Dist.CLIENT)
 	public void onPlayerServerJoinEvent(LoggingIn event) {
 		if(Minecraft.getInstance().getCurrentServer() != null) loadMPConfigs();
+		SyncCache.restore(CarbonConfig.CONFIGS.getConfigsToSync(), event.getPlayer());
+		CarbonConfig.NETWORK.sendToServer(SyncHashPacket.create(CarbonConfig.CONFIGS.getConfigsToSync(), SyncType.SERVER_TO_CLIENT));
 		BulkSyncPacket packet = BulkSyncPacket.create(CarbonConfig.CONFIGS.getConfigsToSync(), SyncType.CLIENT_TO_SERVER, true);
+		SyncSchema.local(SyncType.CLIENT_TO_SERVER).pollChanges();
+		CarbonConfig.NETWORK.sendToServer(SyncSchema.local(SyncType.CLIENT_TO_SERVER).createFull());
 		if(packet == null) return;
 		CarbonConfig.NETWORK.sendToServer(packet);
 	}
@@ -185,6 +218,10 @@ public class EventHandler implements IConfigChangeListener
 	@SubscribeEvent
 	@OnlyIn(Dist.CLIENT)
 	public void onPlayerServerJoinEvent(LoggingOut event) {
+		SyncSchema.clearClientRemotes();
+		SyncApplier.CLIENT.clear();
+		SyncScheduler.INSTANCE.clear(SyncType.CLIENT_TO_SERVER);
+		SyncCache.save(CarbonConfig.CONFIGS.getConfigsToSync());
 		if(Minecraft.getInstance().getCurrentServer() != null) {
 			for(ConfigHandler handler : CarbonConfig.CONFIGS.getAllConfigs()) {
 				if(PerWorldProxy.isProxy(handler.getProxy())) {
@@ -202,7 +239,16 @@ public class EventHandler implements IConfigChangeListener
 		}
 	}
 	
+	/**
+	 * @return the config folder watcher, or null if no tick processed file changes yet
+	 */
+	public ConfigReloader getReloader() {
+		return reloader;
+	}
+	
 	private void processEvents() {
+		if(reloader == null) reloader = new ConfigReloader(FMLPaths.CONFIGDIR.get());
+		if(!reloader.processReloads()) return;
 		CarbonConfig.CONFIGS.processFileSystemEvents();
 	}
 }
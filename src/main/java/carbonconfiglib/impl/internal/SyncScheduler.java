@@ -0,0 +1,87 @@
+package carbonconfiglib.impl.internal;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import carbonconfiglib.CarbonConfig;
+import carbonconfiglib.config.ConfigEntry;
+import carbonconfiglib.config.ConfigHandler;
+import carbonconfiglib.networking.ICarbonPacket;
+import carbonconfiglib.networking.snyc.BulkSyncPacket;
+import carbonconfiglib.networking.snyc.SyncPacket;
+import carbonconfiglib.networking.snyc.SyncSchema;
+import carbonconfiglib.networking.snyc.SyncSchemaPacket;
+import carbonconfiglib.utils.SyncType;
+import it.unimi.dsi.fastutil.objects.Object2ObjectLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+
+/**
+ * Copyright 2023 Speiger, Meduris
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+public class SyncScheduler
+{
+	public static final SyncScheduler INSTANCE = new SyncScheduler();
+	Map<SyncType, Map<ConfigHandler, Map<String, ConfigEntry<?>>>> pending = new EnumMap<>(SyncType.class);
+	int[] ticks = new int[SyncType.values().length];
+	
+	public synchronized void queue(ConfigHandler handler, SyncType type) {
+		if(!handler.isLoaded()) return;
+		Map<String, ConfigEntry<?>> entries = null;
+		for(Map.Entry<String, ConfigEntry<?>> entry : handler.getConfig().getSyncedEntries(type).entrySet()) {
+			ConfigEntry<?> value = entry.getValue();
+			if(!value.hasChanged()) continue;
+			if(entries == null) entries = pending.computeIfAbsent(type, T -> new Object2ObjectLinkedOpenHashMap<>()).computeIfAbsent(handler, T -> new Object2ObjectLinkedOpenHashMap<>());
+			entries.put(entry.getKey(), value);
+			value.onSynced();
+		}
+	}
+	
+	public void onTick(SyncType type) {
+		if(++ticks[type.ordinal()] < CarbonConfig.SYNC_INTERVAL.get()) return;
+		ticks[type.ordinal()] = 0;
+		BulkSyncPacket packet = createPacket(type);
+		if(packet == null) return;
+		if(type == SyncType.SERVER_TO_CLIENT) sendToAllPlayers(packet);
+		else if(CarbonConfig.NETWORK.isInWorld()) sendToServer(packet);
+	}
+	
+	public synchronized void clear(SyncType type) {
+		pending.remove(type);
+	}
+	
+	private synchronized BulkSyncPacket createPacket(SyncType type) {
+		Map<ConfigHandler, Map<String, ConfigEntry<?>>> entries = pending.remove(type);
+		if(entries == null) return null;
+		List<SyncPacket> packets = new ObjectArrayList<>();
+		for(Map.Entry<ConfigHandler, Map<String, ConfigEntry<?>>> entry : entries.entrySet()) {
+			SyncPacket packet = SyncPacket.create(entry.getKey(), type, entry.getValue());
+			if(packet != null) packets.add(packet);
+		}
+		return packets.isEmpty() ? null : new BulkSyncPacket(packets);
+	}
+	
+	private void sendToAllPlayers(ICarbonPacket packet) {
+		SyncSchemaPacket schema = SyncSchema.local(SyncType.SERVER_TO_CLIENT).pollChanges();
+		if(schema != null) CarbonConfig.NETWORK.sendToAllPlayers(schema);
+		CarbonConfig.NETWORK.sendToAllPlayers(packet);
+	}
+	
+	private void sendToServer(ICarbonPacket packet) {
+		SyncSchemaPacket schema = SyncSchema.local(SyncType.CLIENT_TO_SERVER).pollChanges();
+		if(schema != null) CarbonConfig.NETWORK.sendToServer(schema);
+		CarbonConfig.NETWORK.sendToServer(packet);
+	}
+}
@@ -3,24 +3,32 @@ package carbonconfiglib.networking;
 import java.util.List;
 import java.util.function.Supplier;
 
+import org.apache.commons.lang3.tuple.Pair;
+
 import carbonconfiglib.networking.carbon.ConfigAnswerPacket;
 import carbonconfiglib.networking.carbon.ConfigRequestPacket;
 import carbonconfiglib.networking.carbon.SaveConfigPacket;
 import carbonconfiglib.networking.forge.RequestConfigPacket;
 import carbonconfiglib.networking.forge.SaveForgeConfigPacket;
 import carbonconfiglib.networking.snyc.BulkSyncPacket;
+import carbonconfiglib.networking.snyc.SyncHashPacket;
 import carbonconfiglib.networking.snyc.SyncPacket;
+import carbonconfiglib.networking.snyc.SyncSchemaPacket;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import it.unimi.dsi.fastutil.objects.ObjectArrayList;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.player.LocalPlayer;
 import net.minecraft.network.Connection;
 import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.network.protocol.Packet;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.entity.player.Player;
 import net.minecraftforge.api.distmarker.Dist;
 import net.minecraftforge.api.distmarker.OnlyIn;
 import net.minecraftforge.network.NetworkEvent;
+import net.minecraftforge.network.NetworkDirection;
 import net.minecraftforge.network.NetworkEvent.Context;
 import net.minecraftforge.network.NetworkRegistry;
 import net.minecraftforge.network.PacketDistributor;
@@ -44,11 +52,12 @@ import net.minecraftforge.server.ServerLifecycleHooks;
  */
 public class CarbonNetwork
 {
-	public static final String VERSION = "1.0.0";
+	public static final String VERSION = "1.1.0";
+	public static final ResourceLocation CHANNEL = new ResourceLocation("carbonconfig", "networking");
 	SimpleChannel channel;
 	
 	public void init() {
-		channel = NetworkRegistry.newSimpleChannel(new ResourceLocation("carbonconfig", "networking"), () -> VERSION, this::acceptsConnection, this::acceptsConnection);	
+		channel = NetworkRegistry.newSimpleChannel(CHANNEL, () -> VERSION, this::acceptsConnection, this::acceptsConnection);	
 		registerPacket(0, SyncPacket.class, SyncPacket::new);
 		registerPacket(1, BulkSyncPacket.class, BulkSyncPacket::new);
 		registerPacket(2, ConfigRequestPacket.class, ConfigRequestPacket::new);
@@ -56,6 +65,8 @@ public class CarbonNetwork
 		registerPacket(4, SaveConfigPacket.class, SaveConfigPacket::new);
 		registerPacket(5, RequestConfigPacket.class, RequestConfigPacket::new);
 		registerPacket(6, SaveForgeConfigPacket.class, SaveForgeConfigPacket::new);
+		registerPacket(7, SyncSchemaPacket.class, SyncSchemaPacket::new);
+		registerPacket(8, SyncHashPacket.class, SyncHashPacket::new);
 		
 	}
 	
@@ -86,7 +97,7 @@ public class CarbonNetwork
 		try {
 			Context context = provider.get();
 			Player player = getPlayer(context);
-			context.enqueueWork(() -> packet.process(player));
+			if(packet.prepare(player)) context.enqueueWork(() -> packet.process(player));
 			context.setPacketHandled(true);
 		}
 		catch(Exception e) { e.printStackTrace(); }
@@ -111,7 +122,18 @@ public class CarbonNetwork
 	}
 	
 	public void sendToAllPlayers(ICarbonPacket packet) {
-		channel.send(PacketDistributor.NMLIST.with(this::getAllPlayers), packet);
+		List<Connection> players = getAllPlayers();
+		if(players.isEmpty()) return;
+		ByteBuf data = Unpooled.buffer();
+		int index = channel.encodeMessage(packet, new FriendlyByteBuf(data));
+		ByteBuf shared = data.asReadOnly();
+		for(Connection connection : players) {
+			connection.send(createPacket(shared.duplicate(), index));
+		}
+	}
+	
+	private Packet<?> createPacket(ByteBuf data, int index) {
+		return NetworkDirection.PLAY_TO_CLIENT.buildPacket(Pair.of(new FriendlyByteBuf(data), index), CHANNEL).getThis();
 	}
 	
 	private List<Connection> getAllPlayers() {
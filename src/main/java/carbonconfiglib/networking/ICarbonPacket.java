@@ -23,5 +23,13 @@ public interface ICarbonPacket
 	public void write(FriendlyByteBuf buffer);
 	public void read(FriendlyByteBuf buffer);
 	
+	/**
+	 * Called on the network thread right after the packet was read.
+	 * Allows to do the expensive decoding work before the packet is handed to the main thread.
+	 * @param player the player the packet came from or the client player
+	 * @return false if the packet has nothing left to do on the main thread
+	 */
+	public default boolean prepare(Player player) { return true; }
+	
 	public void process(Player player);
 }
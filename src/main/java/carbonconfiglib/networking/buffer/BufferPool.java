@@ -0,0 +1,84 @@
+package carbonconfiglib.networking.buffer;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.buffer.Unpooled;
+import net.minecraft.network.FriendlyByteBuf;
+
+/**
+ * Copyright 2023 Speiger, Meduris
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+public class BufferPool
+{
+	static final int MAX_RETAINED = 1 << 20;
+	static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+	
+	/**
+	 * Allocates a buffer from the pool. The caller owns it and has to release it when done.
+	 */
+	public static FriendlyByteBuf allocate() {
+		return new FriendlyByteBuf(PooledByteBufAllocator.DEFAULT.heapBuffer());
+	}
+	
+	/**
+	 * Gets the cleared scratch writer of this thread.
+	 * The content is only valid until the next call on the same thread, so it has to be copied out before anything else gets serialized.
+	 */
+	public static WriteBuffer writer() {
+		Scratch scratch = getScratch();
+		scratch.writeData.clear();
+		return scratch.writer;
+	}
+	
+	/**
+	 * Creates a reader that wraps the data without copying it.
+	 */
+	public static ReadBuffer reader(byte[] data) {
+		return new ReadBuffer(new FriendlyByteBuf(Unpooled.wrappedBuffer(data)));
+	}
+	
+	/**
+	 * Points the scratch reader of this thread at a range of the source without copying or allocating anything.
+	 * The readable range of the source is changed and the reader is only valid until the next call on the same thread.
+	 */
+	public static ReadBuffer reader(FriendlyByteBuf source, int offset, int length) {
+		ReadBuffer reader = SCRATCH.get().reader;
+		source.setIndex(offset, offset + length);
+		reader.buf = source;
+		return reader;
+	}
+	
+	/**
+	 * Creates a reader that shares the content of the slice without copying it. The reader index of the slice is left untouched.
+	 */
+	public static ReadBuffer reader(ByteBuf slice) {
+		return new ReadBuffer(new FriendlyByteBuf(slice.duplicate()));
+	}
+	
+	private static Scratch getScratch() {
+		Scratch scratch = SCRATCH.get();
+		if(scratch.writeData.capacity() > MAX_RETAINED) {
+			scratch = new Scratch();
+			SCRATCH.set(scratch);
+		}
+		return scratch;
+	}
+	
+	static class Scratch {
+		ByteBuf writeData = Unpooled.buffer();
+		WriteBuffer writer = new WriteBuffer(new FriendlyByteBuf(writeData));
+		ReadBuffer reader = new ReadBuffer(null);
+	}
+}
@@ -0,0 +1,160 @@
+package carbonconfiglib.networking.buffer;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Copyright 2023 Speiger, Meduris
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+public class ByteBufferReadBuffer implements IBulkReadBuffer
+{
+	ByteBuffer buf;
+	
+	public ByteBufferReadBuffer(byte[] data) {
+		this(ByteBuffer.wrap(data));
+	}
+	
+	/**
+	 * Reads from the position to the limit of the buffer. Heap, direct and memory mapped buffers are supported.
+	 */
+	public ByteBufferReadBuffer(ByteBuffer buf) {
+		this.buf = buf.order(ByteOrder.BIG_ENDIAN);
+	}
+	
+	public ByteBuffer getBuffer() {
+		return buf;
+	}
+	
+	@Override
+	public boolean readBoolean() {
+		return buf.get() != 0;
+	}
+	
+	@Override
+	public byte readByte() {
+		return buf.get();
+	}
+	
+	@Override
+	public short readShort() {
+		return buf.getShort();
+	}
+	
+	@Override
+	public int readMedium() {
+		int value = (buf.get() & 0xFF) << 16 | (buf.get() & 0xFF) << 8 | (buf.get() & 0xFF);
+		return (value & 0x800000) != 0 ? value | 0xFF000000 : value;
+	}
+	
+	@Override
+	public int readInt() {
+		return buf.getInt();
+	}
+	
+	@Override
+	public int readVarInt() {
+		int value = 0;
+		int shift = 0;
+		byte current;
+		do {
+			if(shift >= 35) throw new RuntimeException("VarInt too big");
+			current = buf.get();
+			value |= (current & 127) << shift;
+			shift += 7;
+		}
+		while((current & 128) != 0);
+		return value;
+	}
+	
+	@Override
+	public float readFloat() {
+		return buf.getFloat();
+	}
+	
+	@Override
+	public double readDouble() {
+		return buf.getDouble();
+	}
+	
+	@Override
+	public long readLong() {
+		return buf.getLong();
+	}
+	
+	@Override
+	public char readChar() {
+		return buf.getChar();
+	}
+	
+	@Override
+	public <T extends Enum<T>> T readEnum(Class<T> clz) {
+		return clz.getEnumConstants()[readVarInt()];
+	}
+	
+	@Override
+	public byte[] readBytes() {
+		int length = readVarInt();
+		if(length < 0 || length > buf.remaining()) throw new IllegalStateException("ByteArray with size "+length+" is bigger than allowed "+buf.remaining());
+		byte[] result = new byte[length];
+		buf.get(result);
+		return result;
+	}
+	
+	@Override
+	public String readString() {
+		int length = readVarInt();
+		if(length > 32767 * 4) throw new IllegalStateException("The received encoded string buffer length is longer than maximum allowed ("+length+" > "+(32767 * 4)+")");
+		if(length < 0) throw new IllegalStateException("The received encoded string buffer length is less than zero! Weird string!");
+		byte[] data = new byte[length];
+		buf.get(data);
+		String result = new String(data, StandardCharsets.UTF_8);
+		if(result.length() > 32767) throw new IllegalStateException("The received string length is longer than maximum allowed ("+result.length()+" > 32767)");
+		return result;
+	}
+	
+	@Override
+	public UUID readUUID() {
+		return new UUID(buf.getLong(), buf.getLong());
+	}
+	
+	@Override
+	public void readVarIntArray(int[] values, int offset, int length) {
+		if(length > buf.remaining()) throw new IndexOutOfBoundsException("VarInt Array with ["+length+"] entries exceeds the buffer");
+		for(int i = 0;i<length;i++) {
+			values[offset + i] = readVarInt();
+		}
+	}
+	
+	@Override
+	public void readIntArray(int[] values, int offset, int length) {
+		if(length > buf.remaining() / 4) throw new IndexOutOfBoundsException("Int Array with ["+length+"] entries exceeds the buffer");
+		buf.asIntBuffer().get(values, offset, length);
+		buf.position(buf.position() + length * 4);
+	}
+	
+	@Override
+	public void readLongArray(long[] values, int offset, int length) {
+		if(length > buf.remaining() / 8) throw new IndexOutOfBoundsException("Long Array with ["+length+"] entries exceeds the buffer");
+		buf.asLongBuffer().get(values, offset, length);
+		buf.position(buf.position() + length * 8);
+	}
+	
+	@Override
+	public int readableBytes() {
+		return buf.remaining();
+	}
+}
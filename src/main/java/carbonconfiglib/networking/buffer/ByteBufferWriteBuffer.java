@@ -0,0 +1,180 @@
+package carbonconfiglib.networking.buffer;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Copyright 2023 Speiger, Meduris
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+public class ByteBufferWriteBuffer implements IBulkWriteBuffer
+{
+	ByteBuffer buf;
+	boolean growable;
+	
+	/**
+	 * Writes into a heap buffer that grows when needed.
+	 */
+	public ByteBufferWriteBuffer(int initialCapacity) {
+		this.buf = ByteBuffer.allocate(Math.max(16, initialCapacity));
+		this.growable = true;
+	}
+	
+	/**
+	 * Writes into the given buffer starting at its position. Direct and memory mapped buffers work too, but they can't grow.
+	 */
+	public ByteBufferWriteBuffer(ByteBuffer buf) {
+		this.buf = buf.order(ByteOrder.BIG_ENDIAN);
+	}
+	
+	public ByteBuffer getBuffer() {
+		return buf;
+	}
+	
+	public byte[] toByteArray() {
+		byte[] result = new byte[buf.position()];
+		buf.duplicate().flip().get(result);
+		return result;
+	}
+	
+	private void ensure(int bytes) {
+		if(buf.remaining() >= bytes || !growable) return;
+		ByteBuffer next = ByteBuffer.allocate(Math.max(buf.capacity() * 2, buf.position() + bytes));
+		buf.flip();
+		next.put(buf);
+		buf = next;
+	}
+	
+	@Override
+	public void writeBoolean(boolean value) {
+		ensure(1);
+		buf.put((byte)(value ? 1 : 0));
+	}
+	
+	@Override
+	public void writeByte(byte value) {
+		ensure(1);
+		buf.put(value);
+	}
+	
+	@Override
+	public void writeShort(short value) {
+		ensure(2);
+		buf.putShort(value);
+	}
+	
+	@Override
+	public void writeMedium(int value) {
+		ensure(3);
+		buf.put((byte)(value >>> 16));
+		buf.put((byte)(value >>> 8));
+		buf.put((byte)value);
+	}
+	
+	@Override
+	public void writeInt(int value) {
+		ensure(4);
+		buf.putInt(value);
+	}
+	
+	@Override
+	public void writeVarInt(int value) {
+		ensure(5);
+		while((value & -128) != 0) {
+			buf.put((byte)(value & 127 | 128));
+			value >>>= 7;
+		}
+		buf.put((byte)value);
+	}
+	
+	@Override
+	public void writeFloat(float value) {
+		ensure(4);
+		buf.putFloat(value);
+	}
+	
+	@Override
+	public void writeDouble(double value) {
+		ensure(8);
+		buf.putDouble(value);
+	}
+	
+	@Override
+	public void writeLong(long value) {
+		ensure(8);
+		buf.putLong(value);
+	}
+	
+	@Override
+	public void writeChar(char value) {
+		ensure(2);
+		buf.putChar(value);
+	}
+	
+	@Override
+	public void writeEnum(Enum<?> value) {
+		writeVarInt(value.ordinal());
+	}
+	
+	@Override
+	public void writeString(String value) {
+		if(value.length() > 32767) throw new IllegalArgumentException("String too big (was "+value.length()+" characters, max 32767)");
+		byte[] data = value.getBytes(StandardCharsets.UTF_8);
+		if(data.length > 32767 * 3) throw new IllegalArgumentException("String too big (was "+data.length+" bytes encoded, max "+(32767 * 3)+")");
+		writeBytes(data);
+	}
+	
+	@Override
+	public void writeBytes(byte[] value) {
+		writeVarInt(value.length);
+		ensure(value.length);
+		buf.put(value);
+	}
+	
+	@Override
+	public void writeUUID(UUID value) {
+		ensure(16);
+		buf.putLong(value.getMostSignificantBits());
+		buf.putLong(value.getLeastSignificantBits());
+	}
+	
+	@Override
+	public void writeVarIntArray(int[] values, int offset, int length) {
+		ensure(Math.multiplyExact(length, 5));
+		for(int i = 0;i<length;i++) {
+			int value = values[offset + i];
+			while((value & -128) != 0) {
+				buf.put((byte)(value & 127 | 128));
+				value >>>= 7;
+			}
+			buf.put((byte)value);
+		}
+	}
+	
+	@Override
+	public void writeIntArray(int[] values, int offset, int length) {
+		ensure(Math.multiplyExact(length, 4));
+		buf.asIntBuffer().put(values, offset, length);
+		buf.position(buf.position() + length * 4);
+	}
+	
+	@Override
+	public void writeLongArray(long[] values, int offset, int length) {
+		ensure(Math.multiplyExact(length, 8));
+		buf.asLongBuffer().put(values, offset, length);
+		buf.position(buf.position() + length * 8);
+	}
+}
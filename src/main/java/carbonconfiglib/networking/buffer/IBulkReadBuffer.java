@@ -0,0 +1,70 @@
+package carbonconfiglib.networking.buffer;
+
+import carbonconfiglib.api.buffer.IReadBuffer;
+
+/**
+ * Copyright 2023 Speiger, Meduris
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+public interface IBulkReadBuffer extends IReadBuffer
+{
+	/**
+	 * Fills the array with VarInts that were written without a length prefix.
+	 */
+	public void readVarIntArray(int[] values, int offset, int length);
+	public void readIntArray(int[] values, int offset, int length);
+	public void readLongArray(long[] values, int offset, int length);
+	public int readableBytes();
+	
+	/**
+	 * Reads an array length and rejects it before anything gets allocated if the buffer can't hold that many elements or it exceeds the limit.
+	 * @param elementBytes the smallest amount of bytes a single element takes on the wire
+	 */
+	public static int readLength(IReadBuffer buffer, int elementBytes, int limit) {
+		int length = buffer.readVarInt();
+		if(length < 0 || length > limit) throw new IllegalStateException("Array length ["+length+"] is outside of the allowed range [0, "+limit+"]");
+		if(buffer instanceof IBulkReadBuffer && length > ((IBulkReadBuffer)buffer).readableBytes() / elementBytes) throw new IllegalStateException("Array length ["+length+"] exceeds the buffer");
+		return length;
+	}
+	
+	public static void readVarInts(IReadBuffer buffer, int[] values, int offset, int length) {
+		if(buffer instanceof IBulkReadBuffer) {
+			((IBulkReadBuffer)buffer).readVarIntArray(values, offset, length);
+			return;
+		}
+		for(int i = 0;i<length;i++) {
+			values[offset + i] = buffer.readVarInt();
+		}
+	}
+	
+	public static void readInts(IReadBuffer buffer, int[] values, int offset, int length) {
+		if(buffer instanceof IBulkReadBuffer) {
+			((IBulkReadBuffer)buffer).readIntArray(values, offset, length);
+			return;
+		}
+		for(int i = 0;i<length;i++) {
+			values[offset + i] = buffer.readInt();
+		}
+	}
+	
+	public static void readLongs(IReadBuffer buffer, long[] values, int offset, int length) {
+		if(buffer instanceof IBulkReadBuffer) {
+			((IBulkReadBuffer)buffer).readLongArray(values, offset, length);
+			return;
+		}
+		for(int i = 0;i<length;i++) {
+			values[offset + i] = buffer.readLong();
+		}
+	}
+}
@@ -0,0 +1,58 @@
+package carbonconfiglib.networking.buffer;
+
+import carbonconfiglib.api.buffer.IWriteBuffer;
+
+/**
+ * Copyright 2023 Speiger, Meduris
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+public interface IBulkWriteBuffer extends IWriteBuffer
+{
+	/**
+	 * Writes the values as VarInts without a length prefix.
+	 */
+	public void writeVarIntArray(int[] values, int offset, int length);
+	public void writeIntArray(int[] values, int offset, int length);
+	public void writeLongArray(long[] values, int offset, int length);
+	
+	public static void writeVarInts(IWriteBuffer buffer, int[] values, int offset, int length) {
+		if(buffer instanceof IBulkWriteBuffer) {
+			((IBulkWriteBuffer)buffer).writeVarIntArray(values, offset, length);
+			return;
+		}
+		for(int i = 0;i<length;i++) {
+			buffer.writeVarInt(values[offset + i]);
+		}
+	}
+	
+	public static void writeInts(IWriteBuffer buffer, int[] values, int offset, int length) {
+		if(buffer instanceof IBulkWriteBuffer) {
+			((IBulkWriteBuffer)buffer).writeIntArray(values, offset, length);
+			return;
+		}
+		for(int i = 0;i<length;i++) {
+			buffer.writeInt(values[offset + i]);
+		}
+	}
+	
+	public static void writeLongs(IWriteBuffer buffer, long[] values, int offset, int length) {
+		if(buffer instanceof IBulkWriteBuffer) {
+			((IBulkWriteBuffer)buffer).writeLongArray(values, offset, length);
+			return;
+		}
+		for(int i = 0;i<length;i++) {
+			buffer.writeLong(values[offset + i]);
+		}
+	}
+}
@@ -1,8 +1,8 @@
 package carbonconfiglib.networking.buffer;
 
+import java.nio.ByteBuffer;
 import java.util.UUID;
 
-import carbonconfiglib.api.buffer.IReadBuffer;
 import net.minecraft.network.FriendlyByteBuf;
 
 /**
@@ -20,13 +20,17 @@ import net.minecraft.network.FriendlyByteBuf;
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-public class ReadBuffer implements IReadBuffer
+public class ReadBuffer implements IBulkReadBuffer
 {
 	FriendlyByteBuf buf;
 	
 	public ReadBuffer(FriendlyByteBuf buf) {
 		this.buf = buf;
 	}
+	
+	public FriendlyByteBuf getBuffer() {
+		return buf;
+	}
 
 	@Override
 	public boolean readBoolean() {
@@ -97,4 +101,44 @@ public class ReadBuffer implements IReadBuffer
 	public UUID readUUID() {
 		return buf.readUUID();
 	}
+	
+	@Override
+	public void readVarIntArray(int[] values, int offset, int length) {
+		if(length > buf.readableBytes()) throw new IndexOutOfBoundsException("VarInt Array with ["+length+"] entries exceeds the buffer");
+		ByteBuffer input = buf.nioBuffer(buf.readerIndex(), buf.readableBytes());
+		for(int i = 0;i<length;i++) {
+			int value = 0;
+			int shift = 0;
+			byte current;
+			do {
+				if(shift >= 35) throw new RuntimeException("VarInt too big");
+				if(!input.hasRemaining()) throw new IndexOutOfBoundsException("VarInt Array exceeds the buffer");
+				current = input.get();
+				value |= (current & 127) << shift;
+				shift += 7;
+			}
+			while((current & 128) != 0);
+			values[offset + i] = value;
+		}
+		buf.skipBytes(input.position());
+	}
+	
+	@Override
+	public void readIntArray(int[] values, int offset, int length) {
+		if(length > buf.readableBytes() / 4) throw new IndexOutOfBoundsException("Int Array with ["+length+"] entries exceeds the buffer");
+		buf.nioBuffer(buf.readerIndex(), length * 4).asIntBuffer().get(values, offset, length);
+		buf.skipBytes(length * 4);
+	}
+	
+	@Override
+	public void readLongArray(long[] values, int offset, int length) {
+		if(length > buf.readableBytes() / 8) throw new IndexOutOfBoundsException("Long Array with ["+length+"] entries exceeds the buffer");
+		buf.nioBuffer(buf.readerIndex(), length * 8).asLongBuffer().get(values, offset, length);
+		buf.skipBytes(length * 8);
+	}
+	
+	@Override
+	public int readableBytes() {
+		return buf.readableBytes();
+	}
 }
@@ -0,0 +1,83 @@
+package carbonconfiglib.networking.buffer;
+
+import java.util.List;
+
+import carbonconfiglib.api.buffer.IReadBuffer;
+import carbonconfiglib.api.buffer.IWriteBuffer;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import net.minecraft.resources.ResourceLocation;
+
+/**
+ * Copyright 2023 Speiger, Meduris
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+public class StringDictionary
+{
+	/**
+	 * Writes repeating strings as references to their first occurrence.
+	 * The scope is the lifetime of the Writer, the matching Reader has to read the exact same sequence.
+	 */
+	public static class Writer {
+		Object2IntMap<String> ids = new Object2IntOpenHashMap<>();
+		
+		public Writer() {
+			ids.defaultReturnValue(-1);
+		}
+		
+		public void writeString(IWriteBuffer buffer, String value) {
+			int id = ids.getInt(value);
+			if(id != -1) {
+				buffer.writeVarInt(id + 1);
+				return;
+			}
+			ids.put(value, ids.size());
+			buffer.writeVarInt(0);
+			buffer.writeString(value);
+		}
+		
+		/**
+		 * Namespaces and path folders go through the dictionary, only the last path element is written raw.
+		 */
+		public void writeLocation(IWriteBuffer buffer, ResourceLocation location) {
+			writeString(buffer, location.getNamespace());
+			String path = location.getPath();
+			int split = path.lastIndexOf('/') + 1;
+			writeString(buffer, path.substring(0, split));
+			buffer.writeString(path.substring(split));
+		}
+	}
+	
+	public static class Reader {
+		List<String> values = new ObjectArrayList<>();
+		
+		public String readString(IReadBuffer buffer) {
+			int id = buffer.readVarInt();
+			if(id == 0) {
+				String value = buffer.readString();
+				values.add(value);
+				return value;
+			}
+			if(id > values.size()) throw new IllegalStateException("Unknown dictionary reference ["+id+"]");
+			return values.get(id - 1);
+		}
+		
+		public ResourceLocation readLocation(IReadBuffer buffer) {
+			String namespace = readString(buffer);
+			String path = readString(buffer) + buffer.readString();
+			return ResourceLocation.tryParse(namespace+":"+path);
+		}
+	}
+}
@@ -1,8 +1,8 @@
 package carbonconfiglib.networking.buffer;
 
+import java.nio.ByteBuffer;
 import java.util.UUID;
 
-import carbonconfiglib.api.buffer.IWriteBuffer;
 import net.minecraft.network.FriendlyByteBuf;
 
 /**
@@ -20,13 +20,17 @@ import net.minecraft.network.FriendlyByteBuf;
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-public class WriteBuffer implements IWriteBuffer
+public class WriteBuffer implements IBulkWriteBuffer
 {
 	FriendlyByteBuf buf;
 	
 	public WriteBuffer(FriendlyByteBuf buf) {
 		this.buf = buf;
 	}
+	
+	public FriendlyByteBuf getBuffer() {
+		return buf;
+	}
 
 	@Override
 	public void writeBoolean(boolean value) {
@@ -98,4 +102,35 @@ public class WriteBuffer implements IWriteBuffer
 		buf.writeUUID(value);
 	}
 	
+	@Override
+	public void writeVarIntArray(int[] values, int offset, int length) {
+		int max = Math.multiplyExact(length, 5);
+		buf.ensureWritable(max);
+		ByteBuffer output = buf.nioBuffer(buf.writerIndex(), max);
+		for(int i = 0;i<length;i++) {
+			int value = values[offset + i];
+			while((value & -128) != 0) {
+				output.put((byte)(value & 127 | 128));
+				value >>>= 7;
+			}
+			output.put((byte)value);
+		}
+		buf.writerIndex(buf.writerIndex() + output.position());
+	}
+	
+	@Override
+	public void writeIntArray(int[] values, int offset, int length) {
+		int bytes = Math.multiplyExact(length, 4);
+		buf.ensureWritable(bytes);
+		buf.nioBuffer(buf.writerIndex(), bytes).asIntBuffer().put(values, offset, length);
+		buf.writerIndex(buf.writerIndex() + bytes);
+	}
+	
+	@Override
+	public void writeLongArray(long[] values, int offset, int length) {
+		int bytes = Math.multiplyExact(length, 8);
+		buf.ensureWritable(bytes);
+		buf.nioBuffer(buf.writerIndex(), bytes).asLongBuffer().put(values, offset, length);
+		buf.writerIndex(buf.writerIndex() + bytes);
+	}
 }
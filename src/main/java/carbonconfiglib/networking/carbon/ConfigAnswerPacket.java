@@ -1,10 +1,15 @@
 package carbonconfiglib.networking.carbon;
 
+import java.util.Map;
 import java.util.UUID;
 
+import carbonconfiglib.CarbonConfig;
 import carbonconfiglib.gui.api.IRequestScreen;
 import carbonconfiglib.networking.ICarbonPacket;
+import carbonconfiglib.networking.buffer.BufferPool;
+import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.screens.Screen;
 import net.minecraft.network.FriendlyByteBuf;
@@ -29,26 +34,70 @@ import net.minecraftforge.api.distmarker.OnlyIn;
  */
 public class ConfigAnswerPacket implements ICarbonPacket
 {
+	public static final int CHUNK_SIZE = 32768;
+	static final int MAX_SIZE = 1 << 26;
+	static final Map<UUID, Transfer> TRANSFERS = new Object2ObjectOpenHashMap<>();
 	UUID id;
-	byte[] data;
+	int index;
+	boolean last;
+	int progress;
+	int total;
+	ByteBuf data;
 	
 	public ConfigAnswerPacket() {}
 	
-	public ConfigAnswerPacket(UUID id, byte[] data) {
+	public ConfigAnswerPacket(UUID id, int index, boolean last, int progress, int total, ByteBuf data) {
 		this.id = id;
+		this.index = index;
+		this.last = last;
+		this.progress = progress;
+		this.total = total;
 		this.data = data;
 	}
-
+	
+	/**
+	 * Splits the payload into {@link #CHUNK_SIZE} sized packets so large configs don't end up in a single huge packet.
+	 */
+	public static void send(UUID id, ByteBuf payload, Player player) {
+		Sender sender = new Sender(id, player, payload.readableBytes());
+		try {
+			int written = 0;
+			while(payload.isReadable()) {
+				int length = Math.min(CHUNK_SIZE, payload.readableBytes());
+				sender.getBuffer().writeBytes(payload, length);
+				written += length;
+				sender.flush(written);
+			}
+			sender.finish(written);
+		}
+		finally {
+			sender.release();
+		}
+	}
+	
 	@Override
 	public void write(FriendlyByteBuf buffer) {
 		buffer.writeUUID(id);
-		buffer.writeByteArray(data);
+		buffer.writeVarInt(index);
+		buffer.writeBoolean(last);
+		buffer.writeVarInt(progress);
+		buffer.writeVarInt(total);
+		buffer.writeVarInt(data.readableBytes());
+		buffer.writeBytes(data, data.readerIndex(), data.readableBytes());
 	}
 	
 	@Override
 	public void read(FriendlyByteBuf buffer) {
 		id = buffer.readUUID();
-		data = buffer.readByteArray();
+		index = buffer.readVarInt();
+		last = buffer.readBoolean();
+		progress = buffer.readVarInt();
+		total = buffer.readVarInt();
+		int length = buffer.readVarInt();
+		if(length < 0 || length > CHUNK_SIZE) throw new IllegalStateException("Config Chunk is too large: "+length+" bytes");
+		byte[] bytes = new byte[length];
+		buffer.readBytes(bytes);
+		data = Unpooled.wrappedBuffer(bytes);
 	}
 	
 	@Override
@@ -58,9 +107,84 @@ public class ConfigAnswerPacket implements ICarbonPacket
 	
 	@OnlyIn(Dist.CLIENT)
 	private void processClient() {
+		Transfer transfer = TRANSFERS.get(id);
+		if(transfer == null) {
+			if(index != 0) {
+				CarbonConfig.LOGGER.warn("Received invalid Config Transfer ["+id+"]");
+				return;
+			}
+			TRANSFERS.clear();
+			transfer = new Transfer();
+			TRANSFERS.put(id, transfer);
+		}
+		if(!transfer.accept(index, data)) {
+			CarbonConfig.LOGGER.warn("Received invalid Chunk ["+index+"] for Config Transfer ["+id+"]");
+			TRANSFERS.remove(id);
+			return;
+		}
+		if(last) TRANSFERS.remove(id);
 		Screen screen = Minecraft.getInstance().screen;
-		if(screen instanceof IRequestScreen) {
-			((IRequestScreen)screen).receiveConfigData(id, new FriendlyByteBuf(Unpooled.wrappedBuffer(data)));
+		if(!(screen instanceof IRequestScreen)) return;
+		IRequestScreen request = (IRequestScreen)screen;
+		int received = transfer.data.readableBytes();
+		request.receiveProgress(id, received, last || progress <= 0 ? Math.max(received, 1) : (int)Math.min(MAX_SIZE, (long)received * total / progress));
+		if(last) request.receiveConfigData(id, new FriendlyByteBuf(transfer.data));
+	}
+	
+	/**
+	 * Sends the payload while it is being written, so the sender never holds more then about one chunk of it.
+	 * Progress and total are in whatever unit the writer counts, the receiver uses them to estimate the final size.
+	 */
+	public static class Sender {
+		UUID id;
+		Player player;
+		int total;
+		int index;
+		FriendlyByteBuf buffer = BufferPool.allocate();
+		
+		public Sender(UUID id, Player player, int total) {
+			this.id = id;
+			this.player = player;
+			this.total = total;
+		}
+		
+		public FriendlyByteBuf getBuffer() {
+			return buffer;
+		}
+		
+		/**
+		 * Sends every full chunk that was written so far.
+		 */
+		public void flush(int progress) {
+			while(buffer.readableBytes() > CHUNK_SIZE) {
+				send(CHUNK_SIZE, progress, false);
+			}
+			buffer.discardReadBytes();
+		}
+		
+		public void finish(int progress) {
+			flush(progress);
+			send(buffer.readableBytes(), progress, true);
+		}
+		
+		public void release() {
+			buffer.release();
+		}
+		
+		private void send(int length, int progress, boolean last) {
+			CarbonConfig.NETWORK.sendToPlayer(new ConfigAnswerPacket(id, index++, last, progress, total, buffer.readSlice(length)), player);
+		}
+	}
+	
+	static class Transfer {
+		ByteBuf data = Unpooled.buffer();
+		int next;
+		
+		boolean accept(int index, ByteBuf chunk) {
+			if(index != next || data.readableBytes() + chunk.readableBytes() > MAX_SIZE) return false;
+			data.writeBytes(chunk);
+			next++;
+			return true;
 		}
 	}
 }
@@ -1,12 +1,13 @@
 package carbonconfiglib.networking.carbon;
 
+import java.util.Map;
 import java.util.UUID;
 
 import carbonconfiglib.CarbonConfig;
+import carbonconfiglib.config.Config;
+import carbonconfiglib.config.ConfigEntry;
 import carbonconfiglib.config.ConfigHandler;
 import carbonconfiglib.networking.ICarbonPacket;
-import carbonconfiglib.utils.MultilinePolicy;
-import io.netty.buffer.Unpooled;
 import net.minecraft.client.server.IntegratedServer;
 import net.minecraft.network.FriendlyByteBuf;
 import net.minecraft.server.MinecraftServer;
@@ -59,11 +60,34 @@ public class ConfigRequestPacket implements ICarbonPacket
 		}
 		ConfigHandler handler = CarbonConfig.CONFIGS.getConfig(identifier);
 		if(handler == null) return;
-		FriendlyByteBuf buf = new FriendlyByteBuf(Unpooled.buffer());
-		buf.writeUtf(handler.getConfig().serialize(MultilinePolicy.DISABLED), 262144);
-		byte[] data = new byte[buf.writerIndex()];
-		buf.readBytes(data);
-		CarbonConfig.NETWORK.sendToPlayer(new ConfigAnswerPacket(id, data), player);
+		Map<String, ConfigEntry<?>> entries = SaveConfigPacket.collectEntries(handler.getConfig());
+		ConfigAnswerPacket.Sender sender = new ConfigAnswerPacket.Sender(id, player, entries.size());
+		try {
+			FriendlyByteBuf buf = sender.getBuffer();
+			int written = 0;
+			for(Map.Entry<String, ConfigEntry<?>> entry : entries.entrySet()) {
+				buf.writeUtf(entry.getKey(), 32767);
+				buf.writeUtf(entry.getValue().serialize(), ConfigAnswerPacket.MAX_SIZE);
+				sender.flush(++written);
+			}
+			sender.finish(written);
+		}
+		finally {
+			sender.release();
+		}
+	}
+	
+	/**
+	 * Applies the entries that the server streamed as answer to this request.
+	 */
+	public static void readEntries(Config config, FriendlyByteBuf buf) {
+		Map<String, ConfigEntry<?>> entries = SaveConfigPacket.collectEntries(config);
+		while(buf.isReadable()) {
+			String path = buf.readUtf(32767);
+			String value = buf.readUtf(ConfigAnswerPacket.MAX_SIZE);
+			ConfigEntry<?> entry = entries.get(path);
+			if(entry != null) entry.deserializeValue(value);
+		}
 	}
 	
 	private boolean canIgnorePermissionCheck() {
@@ -1,9 +1,24 @@
 package carbonconfiglib.networking.carbon;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
 import carbonconfiglib.CarbonConfig;
+import carbonconfiglib.config.Config;
+import carbonconfiglib.config.ConfigEntry;
 import carbonconfiglib.config.ConfigHandler;
+import carbonconfiglib.config.ConfigSection;
+import carbonconfiglib.impl.internal.ConfigSaver;
 import carbonconfiglib.networking.ICarbonPacket;
+import carbonconfiglib.networking.buffer.BufferPool;
+import carbonconfiglib.networking.buffer.WriteBuffer;
+import carbonconfiglib.utils.SyncType;
+import io.netty.buffer.ByteBuf;
+import it.unimi.dsi.fastutil.objects.Object2ObjectLinkedOpenHashMap;
 import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
 import net.minecraft.client.server.IntegratedServer;
 import net.minecraft.network.FriendlyByteBuf;
 import net.minecraft.server.MinecraftServer;
@@ -28,26 +43,88 @@ import net.minecraftforge.server.ServerLifecycleHooks;
 public class SaveConfigPacket implements ICarbonPacket
 {
 	String identifier;
-	String data;
+	List<Change> changes = new ObjectArrayList<>();
 	
 	public SaveConfigPacket() {
 	}
 	
-	public SaveConfigPacket(String identifier, String data) {
+	public SaveConfigPacket(String identifier, List<Change> changes) {
 		this.identifier = identifier;
-		this.data = data;
+		this.changes = changes;
 	}
-
+	
+	/**
+	 * Serializes every entry of the config so later edits can be detected with {@link #create(String, Config, Map)}
+	 */
+	public static Map<String, byte[]> snapshot(Config config) {
+		Map<String, byte[]> result = new Object2ObjectLinkedOpenHashMap<>();
+		WriteBuffer buffer = BufferPool.writer();
+		ByteBuf buf = buffer.getBuffer();
+		for(Map.Entry<String, ConfigEntry<?>> entry : collectEntries(config).entrySet()) {
+			buf.clear();
+			entry.getValue().serialize(buffer);
+			byte[] data = new byte[buf.writerIndex()];
+			buf.readBytes(data);
+			result.put(entry.getKey(), data);
+		}
+		return result;
+	}
+	
+	/**
+	 * Creates a packet that only contains the entries that differ from the snapshot, and updates the snapshot to the new state.
+	 * @return null if nothing changed
+	 */
+	public static SaveConfigPacket create(String identifier, Config config, Map<String, byte[]> snapshot) {
+		List<Change> changes = new ObjectArrayList<>();
+		Set<ConfigEntry<?>> clientSynced = new ReferenceOpenHashSet<>(config.getSyncedEntries(SyncType.CLIENT_TO_SERVER).values());
+		WriteBuffer buffer = BufferPool.writer();
+		ByteBuf buf = buffer.getBuffer();
+		for(Map.Entry<String, ConfigEntry<?>> entry : collectEntries(config).entrySet()) {
+			ConfigEntry<?> value = entry.getValue();
+			buf.clear();
+			value.serialize(buffer);
+			byte[] data = new byte[buf.writerIndex()];
+			buf.readBytes(data);
+			if(Arrays.equals(data, snapshot.get(entry.getKey()))) continue;
+			snapshot.put(entry.getKey(), data);
+			changes.add(clientSynced.contains(value) ? new Change(entry.getKey(), null, value.serialize()) : new Change(entry.getKey(), data, null));
+		}
+		return changes.isEmpty() ? null : new SaveConfigPacket(identifier, changes);
+	}
+	
+	public static Map<String, ConfigEntry<?>> collectEntries(Config config) {
+		Map<String, ConfigEntry<?>> result = new Object2ObjectLinkedOpenHashMap<>();
+		for(ConfigSection section : config.getChildren()) {
+			collectEntries(section, section.getName(), result);
+		}
+		return result;
+	}
+	
+	private static void collectEntries(ConfigSection section, String path, Map<String, ConfigEntry<?>> result) {
+		for(ConfigSection sub : section.getChildren()) {
+			collectEntries(sub, path+"/"+sub.getName(), result);
+		}
+		for(ConfigEntry<?> entry : section.getEntries()) {
+			result.put(path+"/"+entry.getKey(), entry);
+		}
+	}
+	
 	@Override
 	public void write(FriendlyByteBuf buffer) {
 		buffer.writeUtf(identifier, 32767);
-		buffer.writeUtf(data, 262144);
+		buffer.writeVarInt(changes.size());
+		for(Change change : changes) {
+			change.write(buffer);
+		}
 	}
 	
 	@Override
 	public void read(FriendlyByteBuf buffer) {
 		identifier = buffer.readUtf(32767);
-		data = buffer.readUtf(262144);
+		int size = buffer.readVarInt();
+		for(int i = 0;i<size;i++) {
+			changes.add(Change.read(buffer));
+		}
 	}
 	
 	@Override
@@ -59,9 +136,17 @@ public class SaveConfigPacket implements ICarbonPacket
 		ConfigHandler handler = CarbonConfig.CONFIGS.getConfig(identifier);
 		if(handler == null) return;
 		try {
-			ConfigHandler.load(handler, handler.getConfig(), ObjectArrayList.wrap(data.split("\n")), false);
+			Map<String, ConfigEntry<?>> entries = collectEntries(handler.getConfig());
+			for(Change change : changes) {
+				ConfigEntry<?> entry = entries.get(change.path);
+				if(entry == null) {
+					CarbonConfig.LOGGER.warn("Config ["+identifier+"] has no Entry ["+change.path+"]");
+					continue;
+				}
+				change.apply(entry, player);
+			}
 			handler.onSynced();
-			handler.save();
+			ConfigSaver.INSTANCE.save(handler);
 			CarbonConfig.LOGGER.info("Saved ["+identifier+"] Config");
 		}
 		catch(Exception e) {
@@ -74,4 +159,33 @@ public class SaveConfigPacket implements ICarbonPacket
 		return !server.isDedicatedServer() && (server instanceof IntegratedServer ? ((IntegratedServer)server).isPublished() : false);
 	}
 	
+	public static class Change {
+		String path;
+		byte[] data;
+		String text;
+		
+		public Change(String path, byte[] data, String text) {
+			this.path = path;
+			this.data = data;
+			this.text = text;
+		}
+		
+		void apply(ConfigEntry<?> entry, Player player) {
+			if(data != null) entry.deserialize(BufferPool.reader(data), player.getUUID());
+			else entry.deserializeValue(text);
+		}
+		
+		void write(FriendlyByteBuf buffer) {
+			buffer.writeUtf(path, 32767);
+			buffer.writeBoolean(data != null);
+			if(data != null) buffer.writeByteArray(data);
+			else buffer.writeUtf(text, 262144);
+		}
+		
+		static Change read(FriendlyByteBuf buffer) {
+			String path = buffer.readUtf(32767);
+			if(buffer.readBoolean()) return new Change(path, buffer.readByteArray(), null);
+			return new Change(path, null, buffer.readUtf(262144));
+		}
+	}
 }
@@ -3,7 +3,6 @@ package carbonconfiglib.networking.forge;
 import java.nio.file.Files;
 import java.util.UUID;
 
-import carbonconfiglib.CarbonConfig;
 import carbonconfiglib.networking.ICarbonPacket;
 import carbonconfiglib.networking.carbon.ConfigAnswerPacket;
 import io.netty.buffer.Unpooled;
@@ -69,11 +68,7 @@ public class RequestConfigPacket implements ICarbonPacket
 		if(config == null) return;
 		byte[] result = getData(config);
 		if(result == null) return;
-		FriendlyByteBuf buf = new FriendlyByteBuf(Unpooled.buffer());
-		buf.writeByteArray(result);
-		byte[] data = new byte[buf.writerIndex()];
-		buf.readBytes(data);
-		CarbonConfig.NETWORK.sendToPlayer(new ConfigAnswerPacket(requestId, data), player);
+		ConfigAnswerPacket.send(requestId, Unpooled.wrappedBuffer(result), player);
 	}
 	
 	private byte[] getData(ModConfig config) {
@@ -1,15 +1,25 @@
 package carbonconfiglib.networking.snyc;
 
+import java.nio.ByteBuffer;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
 
+import carbonconfiglib.CarbonConfig;
 import carbonconfiglib.config.ConfigHandler;
-import carbonconfiglib.impl.ReloadMode;
 import carbonconfiglib.networking.ICarbonPacket;
+import carbonconfiglib.networking.buffer.BufferPool;
 import carbonconfiglib.utils.SyncType;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import it.unimi.dsi.fastutil.objects.ObjectArrayList;
 import net.minecraft.network.FriendlyByteBuf;
 import net.minecraft.world.entity.player.Player;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.fml.DistExecutor;
 
 /**
  * Copyright 2023 Speiger, Meduris
@@ -28,6 +38,10 @@ import net.minecraft.world.entity.player.Player;
  */
 public class BulkSyncPacket implements ICarbonPacket
 {
+	static final int MAX_UNCOMPRESSED_SIZE = 1 << 25;
+	static final AtomicLong UNCOMPRESSED_BYTES = new AtomicLong();
+	static final AtomicLong COMPRESSED_BYTES = new AtomicLong();
+	static final Runnable SAVE_CACHE = () -> DistExecutor.unsafeRunWhenOn(Dist.CLIENT, () -> SyncCache::requestSave);
 	List<SyncPacket> packets = new ObjectArrayList<>();
 	
 	public BulkSyncPacket() {
@@ -45,17 +59,106 @@ public class BulkSyncPacket implements ICarbonPacket
 		}
 		return result.isEmpty() ? null : new BulkSyncPacket(result);
 	}
-
+	
+	/**
+	 * @return the total amount of payload bytes that went into compressed Bulk Sync Packets
+	 */
+	public static long getUncompressedBytes() {
+		return UNCOMPRESSED_BYTES.get();
+	}
+	
+	/**
+	 * @return the total amount of bytes that compressed Bulk Sync Packets actually used
+	 */
+	public static long getCompressedBytes() {
+		return COMPRESSED_BYTES.get();
+	}
+	
 	@Override
 	public void write(FriendlyByteBuf buffer) {
+		int threshold = CarbonConfig.COMPRESSION_THRESHOLD.get();
+		if(threshold < 0) {
+			buffer.writeBoolean(false);
+			writePackets(buffer);
+			return;
+		}
+		FriendlyByteBuf payload = BufferPool.allocate();
+		try {
+			writePackets(payload);
+			int size = payload.readableBytes();
+			if(size < threshold) {
+				buffer.writeBoolean(false);
+				buffer.writeBytes(payload);
+				return;
+			}
+			buffer.writeBoolean(true);
+			buffer.writeVarInt(size);
+			int start = buffer.writerIndex();
+			buffer.writeInt(0);
+			deflate(payload, buffer, CarbonConfig.COMPRESSION_LEVEL.get());
+			int compressed = buffer.writerIndex() - start - 4;
+			SyncPacket.patchLength(buffer, start, compressed);
+			UNCOMPRESSED_BYTES.addAndGet(size);
+			COMPRESSED_BYTES.addAndGet(compressed);
+		}
+		finally {
+			payload.release();
+		}
+	}
+	
+	private void writePackets(FriendlyByteBuf buffer) {
 		buffer.writeVarInt(packets.size());
 		for(SyncPacket packet : packets) {
 			packet.write(buffer);
 		}
 	}
 	
+	private void deflate(ByteBuf input, ByteBuf output, int level) {
+		Deflater deflater = new Deflater(level);
+		try {
+			deflater.setInput(input.nioBuffer());
+			deflater.finish();
+			byte[] chunk = new byte[8192];
+			while(!deflater.finished()) {
+				int written = deflater.deflate(chunk);
+				output.writeBytes(chunk, 0, written);
+			}
+		}
+		finally {
+			deflater.end();
+		}
+	}
+	
 	@Override
 	public void read(FriendlyByteBuf buffer) {
+		if(!buffer.readBoolean()) {
+			readPackets(buffer);
+			return;
+		}
+		int size = buffer.readVarInt();
+		if(size < 0 || size > MAX_UNCOMPRESSED_SIZE) throw new IllegalStateException("Bulk Sync Packet is too large: "+size+" bytes");
+		int length = buffer.readVarInt();
+		ByteBuffer result = ByteBuffer.allocate(size);
+		Inflater inflater = new Inflater();
+		try {
+			inflater.setInput(buffer.nioBuffer(buffer.readerIndex(), length));
+			while(result.hasRemaining() && !inflater.finished()) {
+				if(inflater.inflate(result) == 0 && inflater.needsInput()) break;
+			}
+		}
+		catch(DataFormatException e) {
+			throw new IllegalStateException("Bulk Sync Packet is corrupted", e);
+		}
+		finally {
+			inflater.end();
+		}
+		buffer.skipBytes(length);
+		if(result.hasRemaining()) throw new IllegalStateException("Bulk Sync Packet is truncated");
+		result.flip();
+		readPackets(new FriendlyByteBuf(Unpooled.wrappedBuffer(result)));
+	}
+	
+	private void readPackets(FriendlyByteBuf buffer) {
 		int size = buffer.readVarInt();
 		for(int i = 0;i<size;i++) {
 			SyncPacket packet = new SyncPacket();
@@ -64,15 +167,15 @@ public class BulkSyncPacket implements ICarbonPacket
 		}
 	}
 	
+	@Override
+	public boolean prepare(Player player) {
+		packets.removeIf(T -> !T.prepare(player));
+		return !packets.isEmpty();
+	}
+	
 	@Override
 	public void process(Player player) {
-		ReloadMode result = null;
-		for(SyncPacket packet : packets) {
-			result = ReloadMode.or(result, packet.processEntry(player));
-		}
-		if(result != null) {
-			player.sendSystemMessage(result.getMessage());
-		}
+		SyncApplier.get(player).submit(player, packets, player.level.isClientSide ? SAVE_CACHE : null);
 	}
 	
 }
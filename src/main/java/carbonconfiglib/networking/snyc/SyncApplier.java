@@ -0,0 +1,128 @@
+package carbonconfiglib.networking.snyc;
+
+import java.util.List;
+import java.util.UUID;
+
+import carbonconfiglib.CarbonConfig;
+import carbonconfiglib.impl.ReloadMode;
+import it.unimi.dsi.fastutil.objects.ObjectArrayFIFOQueue;
+import net.minecraft.world.entity.player.Player;
+
+/**
+ * Copyright 2023 Speiger, Meduris
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+public class SyncApplier
+{
+	public static final SyncApplier SERVER = new SyncApplier("Server");
+	public static final SyncApplier CLIENT = new SyncApplier("Client");
+	String name;
+	ObjectArrayFIFOQueue<Task> tasks = new ObjectArrayFIFOQueue<>();
+	long lastTickNanos;
+	int lastTickEntries;
+	long totalNanos;
+	long totalEntries;
+	
+	private SyncApplier(String name) {
+		this.name = name;
+	}
+	
+	public static SyncApplier get(Player player) {
+		return player == null || player.level.isClientSide ? CLIENT : SERVER;
+	}
+	
+	public void submit(Player player, List<SyncPacket> packets, Runnable onFinished) {
+		tasks.enqueue(new Task(player, packets, onFinished));
+	}
+	
+	public void clear() {
+		tasks.clear();
+	}
+	
+	public void clear(Player player) {
+		ObjectArrayFIFOQueue<Task> remaining = new ObjectArrayFIFOQueue<>();
+		while(!tasks.isEmpty()) {
+			Task task = tasks.dequeue();
+			if(task.player != player) remaining.enqueue(task);
+		}
+		tasks = remaining;
+	}
+	
+	/**
+	 * Applies queued sync entries until the time budget of this tick is used up.
+	 * At least one entry is applied each tick so large syncs always make progress.
+	 */
+	public void onTick() {
+		if(tasks.isEmpty()) return;
+		long start = System.nanoTime();
+		long end = start + CarbonConfig.APPLY_BUDGET.get() * 1000L;
+		int applied = 0;
+		do {
+			Task task = tasks.first();
+			if(task.applyNext()) tasks.dequeue();
+			applied++;
+		}
+		while(!tasks.isEmpty() && System.nanoTime() < end);
+		lastTickNanos = System.nanoTime() - start;
+		lastTickEntries = applied;
+		totalNanos += lastTickNanos;
+		totalEntries += applied;
+		CarbonConfig.LOGGER.debug(name+" applied ["+applied+"] synced Entries in ["+(lastTickNanos / 1000L)+"]us, ["+tasks.size()+"] Packets left");
+	}
+	
+	public long getLastTickNanos() {
+		return lastTickNanos;
+	}
+	
+	public int getLastTickEntries() {
+		return lastTickEntries;
+	}
+	
+	public long getTotalNanos() {
+		return totalNanos;
+	}
+	
+	public long getTotalEntries() {
+		return totalEntries;
+	}
+	
+	static class Task {
+		Player player;
+		UUID owner;
+		List<SyncPacket> packets;
+		Runnable onFinished;
+		int packetIndex;
+		int entryIndex;
+		ReloadMode mode;
+		
+		public Task(Player player, List<SyncPacket> packets, Runnable onFinished) {
+			this.player = player;
+			this.owner = player.getUUID();
+			this.packets = packets;
+			this.onFinished = onFinished;
+		}
+		
+		boolean applyNext() {
+			SyncPacket packet = packets.get(packetIndex);
+			mode = ReloadMode.or(mode, packet.apply(entryIndex++, owner));
+			if(entryIndex < packet.size()) return false;
+			packet.finish();
+			entryIndex = 0;
+			if(++packetIndex < packets.size()) return false;
+			if(mode != null) player.sendSystemMessage(mode.getMessage());
+			if(onFinished != null) onFinished.run();
+			return true;
+		}
+	}
+}
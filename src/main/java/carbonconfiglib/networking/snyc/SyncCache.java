@@ -0,0 +1,158 @@
+package carbonconfiglib.networking.snyc;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.UUID;
+
+import carbonconfiglib.CarbonConfig;
+import carbonconfiglib.config.ConfigEntry;
+import carbonconfiglib.config.ConfigHandler;
+import carbonconfiglib.impl.internal.ConfigSaver;
+import carbonconfiglib.networking.buffer.BufferPool;
+import carbonconfiglib.networking.buffer.WriteBuffer;
+import carbonconfiglib.utils.SyncType;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.multiplayer.ServerData;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.world.entity.player.Player;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.api.distmarker.OnlyIn;
+import net.minecraftforge.fml.loading.FMLPaths;
+
+/**
+ * Copyright 2023 Speiger, Meduris
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+@OnlyIn(Dist.CLIENT)
+public class SyncCache
+{
+	static final int VERSION = 4;
+	static final Path FOLDER = FMLPaths.GAMEDIR.get().resolve("carbonconfig").resolve("synccache");
+	static final int SAVE_DELAY = 100;
+	static int saveTicks = -1;
+	
+	private static Path getCacheFile() {
+		ServerData data = Minecraft.getInstance().getCurrentServer();
+		if(data == null) return null;
+		return FOLDER.resolve(UUID.nameUUIDFromBytes(data.ip.getBytes(StandardCharsets.UTF_8)).toString().concat(".dat"));
+	}
+	
+	/**
+	 * Restores the server values that were stored during the last session on this server.
+	 * Only configs whose current values differ from the cached hash are touched.
+	 */
+	public static void restore(Iterable<ConfigHandler> configs, Player player) {
+		Path file = getCacheFile();
+		if(file == null || Files.notExists(file)) return;
+		try {
+			FriendlyByteBuf buf = new FriendlyByteBuf(Unpooled.wrappedBuffer(Files.readAllBytes(file)));
+			if(buf.readVarInt() != VERSION) return;
+			Map<String, ConfigHandler> mapped = new Object2ObjectOpenHashMap<>();
+			for(ConfigHandler handler : configs) {
+				if(handler.isLoaded()) mapped.put(handler.getConfigIdentifer(), handler);
+			}
+			int size = buf.readVarInt();
+			for(int i = 0;i<size;i++) {
+				String identifier = buf.readUtf(32767);
+				long hash = buf.readLong();
+				int entries = buf.readVarInt();
+				ConfigHandler handler = mapped.get(identifier);
+				if(handler == null || SyncHashes.hash(handler, SyncType.SERVER_TO_CLIENT) == hash) {
+					for(int j = 0;j<entries;j++) {
+						buf.readUtf(32767);
+						buf.skipBytes(buf.readVarInt());
+					}
+					continue;
+				}
+				Map<String, ConfigEntry<?>> synced = handler.getConfig().getSyncedEntries(SyncType.SERVER_TO_CLIENT);
+				for(int j = 0;j<entries;j++) {
+					ConfigEntry<?> entry = synced.get(buf.readUtf(32767));
+					ByteBuf data = buf.readSlice(buf.readVarInt());
+					if(entry == null) continue;
+					entry.deserialize(BufferPool.reader(data), player.getUUID());
+					entry.onSynced();
+				}
+				handler.onSynced();
+			}
+		}
+		catch(Exception e) {
+			CarbonConfig.LOGGER.warn("Couldn't read Sync Cache", e);
+		}
+	}
+	
+	/**
+	 * Marks the cache as outdated. It is saved once no sync arrived for a few seconds.
+	 */
+	public static void requestSave() {
+		saveTicks = SAVE_DELAY;
+	}
+	
+	public static void onTick() {
+		if(saveTicks < 0 || --saveTicks > 0) return;
+		saveTicks = -1;
+		save(CarbonConfig.CONFIGS.getConfigsToSync());
+	}
+	
+	/**
+	 * Serializes the synced values on the calling thread, the file itself is written by the ConfigSaver.
+	 */
+	public static void save(Iterable<ConfigHandler> configs) {
+		saveTicks = -1;
+		Path file = getCacheFile();
+		if(file == null) return;
+		FriendlyByteBuf buf = BufferPool.allocate();
+		try {
+			writeCache(configs, buf);
+			byte[] data = new byte[buf.readableBytes()];
+			buf.readBytes(data);
+			ConfigSaver.INSTANCE.save(file, data);
+		}
+		catch(Exception e) {
+			CarbonConfig.LOGGER.warn("Couldn't write Sync Cache", e);
+		}
+		finally {
+			buf.release();
+		}
+	}
+	
+	private static void writeCache(Iterable<ConfigHandler> configs, FriendlyByteBuf buf) {
+		buf.writeVarInt(VERSION);
+		int sizeIndex = buf.writerIndex();
+		buf.writeInt(0);
+		int size = 0;
+		for(ConfigHandler handler : configs) {
+			if(!handler.isLoaded()) continue;
+			Map<String, ConfigEntry<?>> synced = handler.getConfig().getSyncedEntries(SyncType.SERVER_TO_CLIENT);
+			if(synced.isEmpty()) continue;
+			buf.writeUtf(handler.getConfigIdentifer(), 32767);
+			buf.writeLong(SyncHashes.hash(handler, SyncType.SERVER_TO_CLIENT));
+			buf.writeVarInt(synced.size());
+			for(Map.Entry<String, ConfigEntry<?>> entry : synced.entrySet()) {
+				WriteBuffer entryBuffer = BufferPool.writer();
+				ByteBuf entryBuf = entryBuffer.getBuffer();
+				entry.getValue().serialize(entryBuffer);
+				buf.writeUtf(entry.getKey(), 32767);
+				buf.writeVarInt(entryBuf.readableBytes());
+				buf.writeBytes(entryBuf);
+			}
+			size++;
+		}
+		SyncPacket.patchLength(buf, sizeIndex, size);
+	}
+}
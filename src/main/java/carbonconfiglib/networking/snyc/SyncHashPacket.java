@@ -0,0 +1,92 @@
+package carbonconfiglib.networking.snyc;
+
+import java.util.List;
+
+import carbonconfiglib.CarbonConfig;
+import carbonconfiglib.config.ConfigHandler;
+import carbonconfiglib.networking.ICarbonPacket;
+import carbonconfiglib.utils.SyncType;
+import it.unimi.dsi.fastutil.objects.Object2LongMap;
+import it.unimi.dsi.fastutil.objects.Object2LongOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.world.entity.player.Player;
+
+/**
+ * Copyright 2023 Speiger, Meduris
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+public class SyncHashPacket implements ICarbonPacket
+{
+	SyncType type;
+	Object2LongMap<String> hashes = new Object2LongOpenHashMap<>();
+	
+	public SyncHashPacket() {
+	}
+	
+	public SyncHashPacket(SyncType type, Object2LongMap<String> hashes) {
+		this.type = type;
+		this.hashes = hashes;
+	}
+	
+	public static SyncHashPacket create(Iterable<ConfigHandler> toSync, SyncType type) {
+		Object2LongMap<String> hashes = new Object2LongOpenHashMap<>();
+		for(ConfigHandler handler : toSync) {
+			if(!handler.isLoaded()) continue;
+			hashes.put(handler.getConfigIdentifer(), SyncHashes.hash(handler, type));
+		}
+		return new SyncHashPacket(type, hashes);
+	}
+	
+	@Override
+	public void write(FriendlyByteBuf buffer) {
+		buffer.writeEnum(type);
+		buffer.writeVarInt(hashes.size());
+		for(Object2LongMap.Entry<String> entry : hashes.object2LongEntrySet()) {
+			buffer.writeUtf(entry.getKey(), 32767);
+			buffer.writeLong(entry.getLongValue());
+		}
+	}
+	
+	@Override
+	public void read(FriendlyByteBuf buffer) {
+		type = buffer.readEnum(SyncType.class);
+		int size = buffer.readVarInt();
+		for(int i = 0;i<size;i++) {
+			hashes.put(buffer.readUtf(32767), buffer.readLong());
+		}
+	}
+	
+	@Override
+	public void process(Player player) {
+		if(type != SyncType.SERVER_TO_CLIENT || player.level.isClientSide) return;
+		List<SyncPacket> packets = new ObjectArrayList<>();
+		int skipped = 0;
+		for(ConfigHandler handler : CarbonConfig.CONFIGS.getConfigsToSync()) {
+			if(!handler.isLoaded()) continue;
+			String identifier = handler.getConfigIdentifer();
+			if(hashes.containsKey(identifier) && hashes.getLong(identifier) == SyncHashes.hash(handler, type)) {
+				skipped++;
+				continue;
+			}
+			SyncPacket packet = SyncPacket.create(handler, type, true);
+			if(packet != null) packets.add(packet);
+		}
+		CarbonConfig.LOGGER.debug("Skipped ["+skipped+"] unchanged Configs for ["+player.getScoreboardName()+"]");
+		SyncSchemaPacket changes = SyncSchema.local(type).pollChanges();
+		if(changes != null) CarbonConfig.NETWORK.sendToAllPlayers(changes);
+		if(packets.isEmpty()) return;
+		CarbonConfig.NETWORK.sendToPlayer(new BulkSyncPacket(packets), player);
+	}
+}
@@ -0,0 +1,54 @@
+package carbonconfiglib.networking.snyc;
+
+import java.util.Map;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+
+import carbonconfiglib.config.ConfigEntry;
+import carbonconfiglib.config.ConfigHandler;
+import carbonconfiglib.networking.buffer.BufferPool;
+import carbonconfiglib.networking.buffer.WriteBuffer;
+import carbonconfiglib.utils.SyncType;
+import io.netty.buffer.ByteBuf;
+
+/**
+ * Copyright 2023 Speiger, Meduris
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+public class SyncHashes
+{
+	/**
+	 * Creates a hash over the binary form of all synced entries of a config.
+	 * Entry hashes are summed up so the order the entries were registered in doesn't matter.
+	 */
+	public static long hash(ConfigHandler handler, SyncType type) {
+		WriteBuffer buffer = BufferPool.writer();
+		ByteBuf buf = buffer.getBuffer();
+		long result = 0L;
+		for(Map.Entry<String, ConfigEntry<?>> entry : handler.getConfig().getSyncedEntries(type).entrySet()) {
+			buf.clear();
+			entry.getValue().serialize(buffer);
+			result += hash(entry.getKey(), buf);
+		}
+		return result;
+	}
+	
+	static long hash(String key, ByteBuf data) {
+		Hasher hasher = Hashing.sipHash24().newHasher();
+		hasher.putUnencodedChars(key);
+		hasher.putBytes(data.nioBuffer());
+		return hasher.hash().asLong();
+	}
+}
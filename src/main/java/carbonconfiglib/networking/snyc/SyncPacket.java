@@ -1,21 +1,29 @@
 package carbonconfiglib.networking.snyc;
 
+import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.UUID;
 
 import carbonconfiglib.CarbonConfig;
 import carbonconfiglib.api.buffer.IWriteBuffer;
 import carbonconfiglib.config.ConfigEntry;
 import carbonconfiglib.config.ConfigHandler;
+import carbonconfiglib.impl.PlayerValueStore;
 import carbonconfiglib.impl.ReloadMode;
 import carbonconfiglib.networking.ICarbonPacket;
+import carbonconfiglib.networking.buffer.BufferPool;
 import carbonconfiglib.networking.buffer.ReadBuffer;
 import carbonconfiglib.networking.buffer.WriteBuffer;
+import carbonconfiglib.networking.snyc.SyncSchema.RemoteConfig;
 import carbonconfiglib.utils.SyncType;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
-import it.unimi.dsi.fastutil.objects.Object2ObjectLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import it.unimi.dsi.fastutil.objects.ObjectLists;
 import net.minecraft.network.FriendlyByteBuf;
 import net.minecraft.world.entity.player.Player;
 
@@ -36,95 +44,191 @@ import net.minecraft.world.entity.player.Player;
  */
 public class SyncPacket implements ICarbonPacket
 {
-	String identifier;
+	static final int MAX_DIRECT_LENGTH = (1 << 28) - 1;
+	int configId;
 	SyncType type;
-	Map<String, byte[]> entries = new Object2ObjectLinkedOpenHashMap<>();
+	Int2ObjectMap<byte[]> entries = new Int2ObjectLinkedOpenHashMap<>();
+	List<ConfigEntry<?>> directEntries;
+	IntList directIds;
+	IntList receivedIds;
+	RemoteConfig remote;
+	ConfigHandler handler;
+	FriendlyByteBuf received;
+	IntList offsets;
+	IntList lengths;
+	boolean changed;
 	
 	public SyncPacket() {
 	}
 	
-	public SyncPacket(String identifier, SyncType type, Map<String, byte[]> entries) {
-		this.identifier = identifier;
+	public SyncPacket(int configId, SyncType type, Int2ObjectMap<byte[]> entries) {
+		this.configId = configId;
 		this.type = type;
 		this.entries = entries;
 	}
 	
+	private SyncPacket(int configId, SyncType type, List<ConfigEntry<?>> directEntries, IntList directIds) {
+		this.configId = configId;
+		this.type = type;
+		this.directEntries = directEntries;
+		this.directIds = directIds;
+	}
+	
 	public static SyncPacket create(ConfigHandler handler, SyncType type, boolean forceSync) {
 		if(!handler.isLoaded()) return null;
-		Map<String, byte[]> data = new Object2ObjectLinkedOpenHashMap<>();
-		ByteBuf buf = Unpooled.buffer();
-		IWriteBuffer buffer = new WriteBuffer(new FriendlyByteBuf(buf));
+		SyncSchema schema = SyncSchema.local(type);
+		int configId = schema.register(handler);
+		List<ConfigEntry<?>> toSync = null;
+		IntList ids = null;
 		for(Map.Entry<String, ConfigEntry<?>> entry : handler.getConfig().getSyncedEntries(type).entrySet()) {
 			ConfigEntry<?> value = entry.getValue();
 			if(forceSync || value.hasChanged()) {
-				buf.clear();
-				value.serialize(buffer);
-				byte[] configData = new byte[buf.writerIndex()];
-				buf.readBytes(configData);
-				data.put(entry.getKey(), configData);
+				if(toSync == null) {
+					toSync = new ObjectArrayList<>();
+					ids = new IntArrayList();
+				}
+				toSync.add(value);
+				ids.add(schema.getEntryId(configId, entry.getKey()));
 				value.onSynced();
 			}
 		}
-		return data.isEmpty() ? null : new SyncPacket(handler.getConfigIdentifer(), type, data);
+		return toSync == null ? null : new SyncPacket(configId, type, toSync, ids);
+	}
+	
+	public static SyncPacket create(ConfigHandler handler, SyncType type, Map<String, ConfigEntry<?>> entries) {
+		if(!handler.isLoaded() || entries.isEmpty()) return null;
+		SyncSchema schema = SyncSchema.local(type);
+		int configId = schema.register(handler);
+		List<ConfigEntry<?>> toSync = new ObjectArrayList<>(entries.size());
+		IntList ids = new IntArrayList(entries.size());
+		for(Map.Entry<String, ConfigEntry<?>> entry : entries.entrySet()) {
+			int id = schema.getEntryId(configId, entry.getKey());
+			if(id == -1) continue;
+			toSync.add(entry.getValue());
+			ids.add(id);
+		}
+		return toSync.isEmpty() ? null : new SyncPacket(configId, type, toSync, ids);
 	}
 	
 	@Override
 	public void write(FriendlyByteBuf buffer) {
-		buffer.writeUtf(identifier);
+		buffer.writeVarInt(configId);
 		buffer.writeEnum(type);
+		if(directEntries != null) {
+			writeDirect(buffer);
+			return;
+		}
 		buffer.writeVarInt(entries.size());
-		for(Map.Entry<String, byte[]> entry : entries.entrySet()) {
-			buffer.writeUtf(entry.getKey());
+		for(Int2ObjectMap.Entry<byte[]> entry : entries.int2ObjectEntrySet()) {
+			buffer.writeVarInt(entry.getIntKey());
 			buffer.writeByteArray(entry.getValue());
 		}
 	}
 	
+	private void writeDirect(FriendlyByteBuf buffer) {
+		IWriteBuffer writer = new WriteBuffer(buffer);
+		buffer.writeVarInt(directEntries.size());
+		for(int i = 0,m=directEntries.size();i<m;i++) {
+			buffer.writeVarInt(directIds.getInt(i));
+			int start = buffer.writerIndex();
+			buffer.writeInt(0);
+			directEntries.get(i).serialize(writer);
+			patchLength(buffer, start, buffer.writerIndex() - start - 4);
+		}
+	}
+	
+	/**
+	 * Writes the length as a 4 byte padded VarInt so the reader can keep using readByteArray.
+	 */
+	static void patchLength(ByteBuf buffer, int index, int length) {
+		if(length > MAX_DIRECT_LENGTH) throw new IllegalStateException("Synced Entry is too large: "+length+" bytes");
+		buffer.setByte(index, (length & 0x7F) | 0x80);
+		buffer.setByte(index + 1, ((length >>> 7) & 0x7F) | 0x80);
+		buffer.setByte(index + 2, ((length >>> 14) & 0x7F) | 0x80);
+		buffer.setByte(index + 3, (length >>> 21) & 0x7F);
+	}
+	
 	@Override
 	public void read(FriendlyByteBuf buffer) {
-		identifier = buffer.readUtf(32767);
+		configId = buffer.readVarInt();
 		type = buffer.readEnum(SyncType.class);
 		int size = buffer.readVarInt();
+		int expected = Math.min(size, buffer.readableBytes());
+		receivedIds = new IntArrayList(expected);
+		offsets = new IntArrayList(expected);
+		lengths = new IntArrayList(expected);
+		int start = buffer.readerIndex();
 		for(int i = 0;i<size;i++) {
-			entries.put(buffer.readUtf(32767), buffer.readByteArray());
+			receivedIds.add(buffer.readVarInt());
+			int length = buffer.readVarInt();
+			if(length < 0) throw new IllegalStateException("Synced Entry has a negative length");
+			offsets.add(buffer.readerIndex() - start);
+			lengths.add(length);
+			buffer.skipBytes(length);
 		}
+		byte[] data = new byte[buffer.readerIndex() - start];
+		buffer.getBytes(start, data);
+		received = new FriendlyByteBuf(Unpooled.wrappedBuffer(data));
 	}
 	
+	/**
+	 * Validates the config and entry ids against the remote schema. The live config isn't touched here.
+	 */
 	@Override
-	public void process(Player player) {
-		ReloadMode mode = processEntry(player);
-		if(mode != null) {
-			player.sendSystemMessage(mode.getMessage());
+	public boolean prepare(Player player) {
+		if(received == null || offsets.isEmpty()) return false;
+		remote = SyncSchema.remote(type, player).get(configId);
+		if(remote == null) {
+			CarbonConfig.LOGGER.warn("Received packet for config id ["+configId+"] which was never announced!");
+			return false;
 		}
+		handler = remote.getHandler();
+		if(handler == null) {
+			CarbonConfig.LOGGER.warn("Received packet for ["+remote.getIdentifier()+"] which didn't exist!");
+			return false;
+		}
+		for(int i = offsets.size()-1;i>=0;i--) {
+			if(remote.isDefined(receivedIds.getInt(i))) continue;
+			receivedIds.removeInt(i);
+			offsets.removeInt(i);
+			lengths.removeInt(i);
+		}
+		return !offsets.isEmpty();
 	}
 	
-	public ReloadMode processEntry(Player player) {
-		if(entries.isEmpty()) return null;
-		ConfigHandler cfg = CarbonConfig.CONFIGS.getConfig(identifier);
-		if(cfg == null) {
-			CarbonConfig.LOGGER.warn("Received packet for ["+identifier+"] which didn't exist!");
-			return null;
+	@Override
+	public void process(Player player) {
+		SyncApplier.get(player).submit(player, ObjectLists.singleton(this), null);
+	}
+	
+	int size() {
+		return offsets.size();
+	}
+	
+	/**
+	 * Looks up the live entry and applies the received value to it. Has to be called on the main thread.
+	 * @return the reload state of the entry if it changed
+	 */
+	ReloadMode apply(int index, UUID owner) {
+		ConfigEntry<?> entry = remote.getEntry(handler, type, receivedIds.getInt(index));
+		if(entry == null) return null;
+		ReadBuffer reader = BufferPool.reader(received, offsets.getInt(index), lengths.getInt(index));
+		if(type == SyncType.CLIENT_TO_SERVER) {
+			received.markReaderIndex();
+			PlayerValueStore.INSTANCE.record(entry, owner, reader);
+			received.resetReaderIndex();
 		}
-		Map<String, ConfigEntry<?>> mapped = cfg.getConfig().getSyncedEntries(type);
-		boolean hasChanged = false;
-		UUID owner = player.getUUID();
+		entry.deserialize(reader, owner);
 		ReloadMode mode = null;
-		for(Entry<String, byte[]> dataEntry : entries.entrySet())
-		{
-			ConfigEntry<?> entry = mapped.get(dataEntry.getKey());
-			if(entry != null)
-			{
-				entry.deserialize(new ReadBuffer(new FriendlyByteBuf(Unpooled.wrappedBuffer(dataEntry.getValue()))), owner);
-				if(entry.hasChanged()) {
-					hasChanged = true;
-					mode = ReloadMode.or(mode, entry.getReloadState());
-				}
-				entry.onSynced();
-			}
+		if(entry.hasChanged()) {
+			changed = true;
+			mode = ReloadMode.or(null, entry.getReloadState());
 		}
-		if(hasChanged) {
-			cfg.onSynced();
-			return mode;
-		}
-		return null;
+		entry.onSynced();
+		return mode;
+	}
+	
+	void finish() {
+		if(changed) handler.onSynced();
 	}
-}
\ No newline at end of file
+}
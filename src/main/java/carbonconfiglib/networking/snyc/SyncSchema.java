@@ -0,0 +1,208 @@
+package carbonconfiglib.networking.snyc;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import carbonconfiglib.CarbonConfig;
+import carbonconfiglib.config.Config;
+import carbonconfiglib.config.ConfigEntry;
+import carbonconfiglib.config.ConfigHandler;
+import carbonconfiglib.utils.SyncType;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import net.minecraft.world.entity.player.Player;
+
+/**
+ * Copyright 2023 Speiger, Meduris
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+public class SyncSchema
+{
+	private static final Map<SyncType, SyncSchema> LOCAL = new EnumMap<>(SyncType.class);
+	private static final Map<SyncType, Remote> CLIENT_REMOTES = new EnumMap<>(SyncType.class);
+	private static final Map<UUID, Remote> SERVER_REMOTES = new Object2ObjectOpenHashMap<>();
+	
+	SyncType type;
+	Object2IntMap<String> configIds = new Object2IntOpenHashMap<>();
+	List<LocalConfig> configs = new ObjectArrayList<>();
+	
+	private SyncSchema(SyncType type) {
+		this.type = type;
+		configIds.defaultReturnValue(-1);
+	}
+	
+	public static synchronized SyncSchema local(SyncType type) {
+		return LOCAL.computeIfAbsent(type, SyncSchema::new);
+	}
+	
+	/**
+	 * Gets the schema that the other side announced to us.
+	 * Server to Client schemas are stored globally on the client, Client to Server schemas are stored per player on the server.
+	 */
+	public static synchronized Remote remote(SyncType type, Player player) {
+		if(player == null || player.level.isClientSide) return CLIENT_REMOTES.computeIfAbsent(type, T -> new Remote());
+		return SERVER_REMOTES.computeIfAbsent(player.getUUID(), T -> new Remote());
+	}
+	
+	public static synchronized void clearRemote(Player player) {
+		if(player == null || player.level.isClientSide) CLIENT_REMOTES.clear();
+		else SERVER_REMOTES.remove(player.getUUID());
+	}
+	
+	public static synchronized void clearClientRemotes() {
+		CLIENT_REMOTES.clear();
+	}
+	
+	/**
+	 * Makes sure the config and all its currently synced entries have an id.
+	 * @return the config id
+	 */
+	public synchronized int register(ConfigHandler handler) {
+		String identifier = handler.getConfigIdentifer();
+		int id = configIds.getInt(identifier);
+		if(id == -1) {
+			id = configs.size();
+			configIds.put(identifier, id);
+			configs.add(new LocalConfig(identifier));
+		}
+		LocalConfig config = configs.get(id);
+		for(String key : handler.getConfig().getSyncedEntries(type).keySet()) {
+			config.register(key);
+		}
+		return id;
+	}
+	
+	public synchronized int getEntryId(int configId, String key) {
+		return configs.get(configId).entryIds.getInt(key);
+	}
+	
+	/**
+	 * @return all ids that were assigned since the last call, or null if nothing changed.
+	 */
+	public synchronized SyncSchemaPacket pollChanges() {
+		List<SyncSchemaPacket.Definition> definitions = new ObjectArrayList<>();
+		for(int i = 0,m=configs.size();i<m;i++) {
+			LocalConfig config = configs.get(i);
+			if(config.published >= config.keys.size()) continue;
+			definitions.add(new SyncSchemaPacket.Definition(i, config.identifier, config.published, new ObjectArrayList<>(config.keys.subList(config.published, config.keys.size()))));
+			config.published = config.keys.size();
+		}
+		return definitions.isEmpty() ? null : new SyncSchemaPacket(type, definitions);
+	}
+	
+	/**
+	 * @return every id that was assigned so far. Used to bring a freshly joined connection up to date.
+	 */
+	public synchronized SyncSchemaPacket createFull() {
+		List<SyncSchemaPacket.Definition> definitions = new ObjectArrayList<>();
+		for(int i = 0,m=configs.size();i<m;i++) {
+			LocalConfig config = configs.get(i);
+			definitions.add(new SyncSchemaPacket.Definition(i, config.identifier, 0, new ObjectArrayList<>(config.keys)));
+		}
+		return new SyncSchemaPacket(type, definitions);
+	}
+	
+	static class LocalConfig {
+		String identifier;
+		Object2IntMap<String> entryIds = new Object2IntOpenHashMap<>();
+		List<String> keys = new ObjectArrayList<>();
+		int published = 0;
+		
+		public LocalConfig(String identifier) {
+			this.identifier = identifier;
+			entryIds.defaultReturnValue(-1);
+		}
+		
+		void register(String key) {
+			if(entryIds.containsKey(key)) return;
+			entryIds.put(key, keys.size());
+			keys.add(key);
+		}
+	}
+	
+	public static class Remote {
+		Int2ObjectMap<RemoteConfig> configs = new Int2ObjectOpenHashMap<>();
+		
+		public synchronized void define(int configId, String identifier, int start, List<String> keys) {
+			RemoteConfig config = configs.get(configId);
+			if(config == null || !config.identifier.equals(identifier)) {
+				config = new RemoteConfig(identifier);
+				configs.put(configId, config);
+			}
+			config.define(start, keys);
+		}
+		
+		public synchronized RemoteConfig get(int configId) {
+			return configs.get(configId);
+		}
+	}
+	
+	public static class RemoteConfig {
+		String identifier;
+		List<String> keys = new ObjectArrayList<>();
+		Config resolvedFor;
+		ConfigEntry<?>[] resolved;
+		
+		public RemoteConfig(String identifier) {
+			this.identifier = identifier;
+		}
+		
+		synchronized void define(int start, List<String> keys) {
+			while(this.keys.size() < start) this.keys.add(null);
+			for(int i = 0,m=keys.size();i<m;i++) {
+				if(start + i < this.keys.size()) this.keys.set(start + i, keys.get(i));
+				else this.keys.add(keys.get(i));
+			}
+			resolved = null;
+		}
+		
+		public String getIdentifier() {
+			return identifier;
+		}
+		
+		public ConfigHandler getHandler() {
+			return CarbonConfig.CONFIGS.getConfig(identifier);
+		}
+		
+		/**
+		 * @return true if the remote side announced the entry id
+		 */
+		public synchronized boolean isDefined(int entryId) {
+			return entryId >= 0 && entryId < keys.size() && keys.get(entryId) != null;
+		}
+		
+		/**
+		 * Maps the id to our local entry. The lookup table is only rebuilt when the schema grows or the config instance was swapped.
+		 */
+		public synchronized ConfigEntry<?> getEntry(ConfigHandler handler, SyncType type, int entryId) {
+			Config config = handler.getConfig();
+			if(resolved == null || resolvedFor != config) {
+				Map<String, ConfigEntry<?>> mapped = config.getSyncedEntries(type);
+				resolved = new ConfigEntry<?>[keys.size()];
+				for(int i = 0,m=keys.size();i<m;i++) {
+					String key = keys.get(i);
+					resolved[i] = key == null ? null : mapped.get(key);
+				}
+				resolvedFor = config;
+			}
+			return entryId >= 0 && entryId < resolved.length ? resolved[entryId] : null;
+		}
+	}
+}
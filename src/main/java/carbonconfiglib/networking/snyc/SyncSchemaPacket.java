@@ -0,0 +1,107 @@
+package carbonconfiglib.networking.snyc;
+
+import java.util.List;
+
+import carbonconfiglib.networking.ICarbonPacket;
+import carbonconfiglib.networking.snyc.SyncSchema.Remote;
+import carbonconfiglib.utils.SyncType;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.world.entity.player.Player;
+
+/**
+ * Copyright 2023 Speiger, Meduris
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+public class SyncSchemaPacket implements ICarbonPacket
+{
+	SyncType type;
+	List<Definition> definitions = new ObjectArrayList<>();
+	
+	public SyncSchemaPacket() {
+	}
+	
+	public SyncSchemaPacket(SyncType type, List<Definition> definitions) {
+		this.type = type;
+		this.definitions = definitions;
+	}
+	
+	@Override
+	public void write(FriendlyByteBuf buffer) {
+		buffer.writeEnum(type);
+		buffer.writeVarInt(definitions.size());
+		for(Definition definition : definitions) {
+			definition.write(buffer);
+		}
+	}
+	
+	@Override
+	public void read(FriendlyByteBuf buffer) {
+		type = buffer.readEnum(SyncType.class);
+		int size = buffer.readVarInt();
+		for(int i = 0;i<size;i++) {
+			definitions.add(Definition.read(buffer));
+		}
+	}
+	
+	@Override
+	public boolean prepare(Player player) {
+		process(player);
+		return false;
+	}
+	
+	@Override
+	public void process(Player player) {
+		Remote remote = SyncSchema.remote(type, player);
+		for(Definition definition : definitions) {
+			remote.define(definition.configId, definition.identifier, definition.start, definition.keys);
+		}
+	}
+	
+	public static class Definition {
+		int configId;
+		String identifier;
+		int start;
+		List<String> keys;
+		
+		public Definition(int configId, String identifier, int start, List<String> keys) {
+			this.configId = configId;
+			this.identifier = identifier;
+			this.start = start;
+			this.keys = keys;
+		}
+		
+		void write(FriendlyByteBuf buffer) {
+			buffer.writeVarInt(configId);
+			buffer.writeUtf(identifier, 32767);
+			buffer.writeVarInt(start);
+			buffer.writeVarInt(keys.size());
+			for(String key : keys) {
+				buffer.writeUtf(key, 32767);
+			}
+		}
+		
+		static Definition read(FriendlyByteBuf buffer) {
+			int configId = buffer.readVarInt();
+			String identifier = buffer.readUtf(32767);
+			int start = buffer.readVarInt();
+			int size = buffer.readVarInt();
+			List<String> keys = new ObjectArrayList<>(size);
+			for(int i = 0;i<size;i++) {
+				keys.add(buffer.readUtf(32767));
+			}
+			return new Definition(configId, identifier, start, keys);
+		}
+	}
+}
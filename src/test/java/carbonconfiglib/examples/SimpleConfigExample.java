@@ -13,6 +13,8 @@ import carbonconfiglib.config.ConfigSection;
 import carbonconfiglib.config.ConfigSettings;
 import carbonconfiglib.config.HashSetCache;
 import carbonconfiglib.config.SyncedConfig;
+import carbonconfiglib.impl.PlayerValueStore;
+import carbonconfiglib.impl.PlayerValueStore.IntColumn;
 import carbonconfiglib.impl.entries.ColorValue;
 import carbonconfiglib.utils.AutomationType;
 import carbonconfiglib.utils.MultilinePolicy;
@@ -28,6 +30,7 @@ public class SimpleConfigExample
 	public IntValue rangeExample;
 	public IntValue serverSyncedExample;
 	public SyncedConfig<IntValue> clientSyncedValue;
+	public IntColumn clientSyncedColumn;
 	
 	public BoolValue flagExample;
 	public BoolValue suggestionExample;
@@ -55,7 +58,9 @@ public class SimpleConfigExample
 		
 		ConfigSection synced = config.add("Synced Section");
 		serverSyncedExample = synced.addInt("Server Synced Value", 0).setServerSynced(); //Syncs the config from the server to the client!
-		clientSyncedValue = synced.addInt("Client Synced Value", 0).setClientSynced(); // Syncs the config from the client to the server to allow client specific configs for customization!
+		IntValue clientValue = synced.addInt("Client Synced Value", 0);
+		clientSyncedColumn = PlayerValueStore.INSTANCE.ints(clientValue); // Optional: Stores the values of all online players in a primitive array. Useful if you check the value of every player each tick. Has to be given the entry itself, not the SyncedConfig wrapper.
+		clientSyncedValue = clientValue.setClientSynced(); // Syncs the config from the client to the server to allow client specific configs for customization!
 		
 		handler = CarbonConfig.CONFIGS.createConfig(config);
 		cache = HashSetCache.create(stringArrayExample, handler); //String arrays can not be really read so you can use HashSetCaches to make the tests a lot faster/simpler. Automatically updates if the config reloads. ArrayValue doesn't have to be referenced since its stored inside the cache too.
@@ -79,6 +84,10 @@ public class SimpleConfigExample
 		return clientSyncedValue.get(player.getUUID()).get(); // Gets the Player Specific value from the config automatically. If no value is provided the server side config applies! NOTE: THIS requires AutomationType.AUTO_SYNC to be set (default) otherwise no SYNC
 	}
 	
+	public int getClientValueFast(Player player) {
+		return clientSyncedColumn.get(player.getUUID(), 0); // Gets the Player Specific value without a map lookup per entry. The default is returned if the player never sent a value.
+	}
+	
 	public boolean getBooleanExample() {
 		return flagExample.get(); // Getting a value of a config
 	}
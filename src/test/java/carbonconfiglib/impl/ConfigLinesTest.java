@@ -0,0 +1,62 @@
+package carbonconfiglib.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Copyright 2023 Speiger, Meduris
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+public class ConfigLinesTest
+{
+	static final String CONFIG = String.join("\r\n",
+		"# Blocks that can be mined",
+		"[general]",
+		"	# A multiline Registry Array",
+		"	R:blocks = [",
+		"		minecraft:stone,",
+		"		#minecraft:logs,",
+		"		# minecraft:planks",
+		"	]",
+		"	#Not part of the Array",
+		"	I:count = 5");
+	
+	@Test
+	public void testTagsInMultilineArray() {
+		verify(new ConfigLines(CONFIG));
+		verify(new ConfigLines(ByteBuffer.wrap(CONFIG.getBytes(StandardCharsets.UTF_8))));
+		ByteBuffer direct = ByteBuffer.allocateDirect(CONFIG.length());
+		direct.put(CONFIG.getBytes(StandardCharsets.UTF_8)).flip();
+		verify(new ConfigLines(direct));
+	}
+	
+	private void verify(List<String> lines) {
+		assertEquals(10, lines.size());
+		assertEquals(ConfigLines.COMMENT, lines.get(0));
+		assertEquals("[general]", lines.get(1));
+		assertEquals(ConfigLines.COMMENT, lines.get(2));
+		assertEquals("	R:blocks = [", lines.get(3));
+		assertEquals("		minecraft:stone,", lines.get(4));
+		assertEquals("		#minecraft:logs,", lines.get(5));
+		assertEquals("		# minecraft:planks", lines.get(6));
+		assertEquals("	]", lines.get(7));
+		assertEquals(ConfigLines.COMMENT, lines.get(8));
+		assertEquals("	I:count = 5", lines.get(9));
+	}
+}
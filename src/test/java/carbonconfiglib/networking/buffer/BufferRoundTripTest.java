@@ -0,0 +1,144 @@
+package carbonconfiglib.networking.buffer;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.ByteBuffer;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import io.netty.buffer.Unpooled;
+import net.minecraft.network.FriendlyByteBuf;
+
+/**
+ * Copyright 2023 Speiger, Meduris
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+public class BufferRoundTripTest
+{
+	static final UUID ID = new UUID(0x0123456789ABCDEFL, 0xFEDCBA9876543210L);
+	static final String TEXT = "Carbon äöü 中文 😀";
+	static final int[] VAR_INTS = {0, 1, 127, 128, 16383, 16384, Integer.MAX_VALUE, -1, Integer.MIN_VALUE};
+	static final int[] INTS = {0, -1, 42, Integer.MAX_VALUE, Integer.MIN_VALUE};
+	static final long[] LONGS = {0L, -1L, 42L, Long.MAX_VALUE, Long.MIN_VALUE};
+	
+	enum Sample {
+		FIRST,
+		SECOND,
+		THIRD
+	}
+	
+	@Test
+	public void testSameBytes() {
+		assertArrayEquals(writeNetty(), writeByteBuffer());
+	}
+	
+	@Test
+	public void testByteBufferReadsNetty() {
+		verify(new ByteBufferReadBuffer(writeNetty()));
+	}
+	
+	@Test
+	public void testNettyReadsByteBuffer() {
+		verify(new ReadBuffer(new FriendlyByteBuf(Unpooled.wrappedBuffer(writeByteBuffer()))));
+	}
+	
+	@Test
+	public void testFixedByteBuffer() {
+		byte[] expected = writeByteBuffer();
+		ByteBufferWriteBuffer buffer = new ByteBufferWriteBuffer(ByteBuffer.allocateDirect(expected.length));
+		write(buffer);
+		assertArrayEquals(expected, buffer.toByteArray());
+	}
+	
+	@Test
+	public void testOversizedArrays() {
+		byte[] data = new byte[16];
+		assertThrows(IndexOutOfBoundsException.class, () -> new ByteBufferReadBuffer(data).readVarIntArray(new int[17], 0, 17));
+		assertThrows(IndexOutOfBoundsException.class, () -> new ReadBuffer(new FriendlyByteBuf(Unpooled.wrappedBuffer(data))).readVarIntArray(new int[17], 0, 17));
+		assertThrows(IndexOutOfBoundsException.class, () -> new ReadBuffer(new FriendlyByteBuf(Unpooled.wrappedBuffer(data))).readIntArray(new int[5], 0, 5));
+		assertThrows(IndexOutOfBoundsException.class, () -> new ByteBufferReadBuffer(data).readLongArray(new long[3], 0, 3));
+	}
+	
+	private static byte[] writeNetty() {
+		FriendlyByteBuf buf = new FriendlyByteBuf(Unpooled.buffer());
+		write(new WriteBuffer(buf));
+		byte[] result = new byte[buf.readableBytes()];
+		buf.readBytes(result);
+		return result;
+	}
+	
+	private static byte[] writeByteBuffer() {
+		ByteBufferWriteBuffer buffer = new ByteBufferWriteBuffer(16);
+		write(buffer);
+		return buffer.toByteArray();
+	}
+	
+	private static void write(IBulkWriteBuffer buffer) {
+		buffer.writeBoolean(true);
+		buffer.writeBoolean(false);
+		buffer.writeByte((byte)-5);
+		buffer.writeShort((short)-12345);
+		buffer.writeMedium(0x123456);
+		buffer.writeInt(-123456789);
+		for(int value : VAR_INTS) {
+			buffer.writeVarInt(value);
+		}
+		buffer.writeFloat(1.5F);
+		buffer.writeDouble(-2.25D);
+		buffer.writeLong(0x1122334455667788L);
+		buffer.writeChar('中');
+		buffer.writeEnum(Sample.THIRD);
+		buffer.writeString(TEXT);
+		buffer.writeString("");
+		buffer.writeBytes(new byte[] {1, 2, 3, -1});
+		buffer.writeUUID(ID);
+		buffer.writeVarIntArray(VAR_INTS, 0, VAR_INTS.length);
+		buffer.writeIntArray(INTS, 1, INTS.length - 1);
+		buffer.writeLongArray(LONGS, 0, LONGS.length);
+	}
+	
+	private static void verify(IBulkReadBuffer buffer) {
+		assertEquals(true, buffer.readBoolean());
+		assertEquals(false, buffer.readBoolean());
+		assertEquals((byte)-5, buffer.readByte());
+		assertEquals((short)-12345, buffer.readShort());
+		assertEquals(0x123456, buffer.readMedium());
+		assertEquals(-123456789, buffer.readInt());
+		for(int value : VAR_INTS) {
+			assertEquals(value, buffer.readVarInt());
+		}
+		assertEquals(1.5F, buffer.readFloat());
+		assertEquals(-2.25D, buffer.readDouble());
+		assertEquals(0x1122334455667788L, buffer.readLong());
+		assertEquals('中', buffer.readChar());
+		assertEquals(Sample.THIRD, buffer.readEnum(Sample.class));
+		assertEquals(TEXT, buffer.readString());
+		assertEquals("", buffer.readString());
+		assertArrayEquals(new byte[] {1, 2, 3, -1}, buffer.readBytes());
+		assertEquals(ID, buffer.readUUID());
+		int[] varInts = new int[VAR_INTS.length];
+		buffer.readVarIntArray(varInts, 0, varInts.length);
+		assertArrayEquals(VAR_INTS, varInts);
+		int[] ints = new int[INTS.length];
+		buffer.readIntArray(ints, 1, INTS.length - 1);
+		assertArrayEquals(INTS, ints);
+		long[] longs = new long[LONGS.length];
+		buffer.readLongArray(longs, 0, longs.length);
+		assertArrayEquals(LONGS, longs);
+		assertEquals(0, buffer.readableBytes());
+	}
+}